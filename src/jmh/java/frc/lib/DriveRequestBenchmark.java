@@ -0,0 +1,65 @@
+package frc.lib;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.XboxControllerSim;
+import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks creating drive requests from simulated controllers. */
+@State(Scope.Thread)
+public class DriveRequestBenchmark {
+
+  /** Controller which is driving and spinning. */
+  private CommandXboxController spinningController;
+
+  /** Controller which is sniping, aligning, and driving robot-centric. */
+  private CommandXboxController aligningController;
+
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+
+    spinningController = new CommandXboxController(0);
+    aligningController = new CommandXboxController(1);
+
+    setAxes(new XboxControllerSim(spinningController.getHID()), 0.0, 0.0, false);
+    setAxes(new XboxControllerSim(aligningController.getHID()), 1.0, 1.0, true);
+
+    DriverStationSim.notifyNewData();
+  }
+
+  /**
+   * Sets the axes of a simulated controller.
+   *
+   * @param controller the simulated controller.
+   * @param leftTrigger the left trigger axis.
+   * @param rightTrigger the right trigger axis.
+   * @param leftBumper the left bumper button.
+   */
+  private static void setAxes(
+      XboxControllerSim controller, double leftTrigger, double rightTrigger, boolean leftBumper) {
+    controller.setLeftX(0.3);
+    controller.setLeftY(-0.8);
+    controller.setRightX(0.5);
+    controller.setRightY(0.0);
+    controller.setLeftTriggerAxis(leftTrigger);
+    controller.setRightTriggerAxis(rightTrigger);
+    controller.setLeftBumper(leftBumper);
+  }
+
+  /** Creates a drive request while driving and spinning. */
+  @Benchmark
+  public DriveRequest spinning() {
+    return DriveRequest.fromController(spinningController);
+  }
+
+  /** Creates a drive request while sniping, aligning, and driving robot-centric. */
+  @Benchmark
+  public DriveRequest aligning() {
+    return DriveRequest.fromController(aligningController);
+  }
+}
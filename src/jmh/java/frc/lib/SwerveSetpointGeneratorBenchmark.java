@@ -0,0 +1,66 @@
+package frc.lib;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks generating swerve module setpoints. */
+@State(Scope.Thread)
+public class SwerveSetpointGeneratorBenchmark {
+
+  private SwerveSetpointGenerator generator;
+
+  private SwerveModuleState[] previousSetpoints;
+
+  private final SwerveModuleState[] setpoints = new SwerveModuleState[4];
+
+  private final ChassisSpeeds forwardSpeeds = new ChassisSpeeds(3.0, 0.5, 1.0);
+
+  private final ChassisSpeeds reversedSpeeds = new ChassisSpeeds(-3.0, 2.0, -1.0);
+
+  @Setup
+  public void setup() {
+    generator =
+        new SwerveSetpointGenerator(
+            4.5,
+            18.0,
+            3.0,
+            new Translation2d(0.3, 0.3),
+            new Translation2d(0.3, -0.3),
+            new Translation2d(-0.3, -0.3),
+            new Translation2d(-0.3, 0.3));
+
+    previousSetpoints =
+        new SwerveModuleState[] {
+          new SwerveModuleState(2.0, Rotation2d.fromDegrees(10.0)),
+          new SwerveModuleState(2.0, Rotation2d.fromDegrees(10.0)),
+          new SwerveModuleState(2.0, Rotation2d.fromDegrees(10.0)),
+          new SwerveModuleState(2.0, Rotation2d.fromDegrees(10.0))
+        };
+
+    for (int i = 0; i < 4; i++) {
+      setpoints[i] = new SwerveModuleState();
+    }
+  }
+
+  /** Generates setpoints which continue in the modules' direction. */
+  @Benchmark
+  public SwerveModuleState[] forward() {
+    generator.generate(previousSetpoints, forwardSpeeds, 0.02, setpoints);
+
+    return setpoints;
+  }
+
+  /** Generates setpoints which are limited by steering. */
+  @Benchmark
+  public SwerveModuleState[] reversed() {
+    generator.generate(previousSetpoints, reversedSpeeds, 0.02, setpoints);
+
+    return setpoints;
+  }
+}
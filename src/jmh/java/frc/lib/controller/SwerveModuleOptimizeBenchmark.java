@@ -0,0 +1,45 @@
+package frc.lib.controller;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks optimizing swerve module setpoints. */
+@State(Scope.Thread)
+public class SwerveModuleOptimizeBenchmark {
+
+  private final SwerveModuleState optimized = new SwerveModuleState();
+
+  private SwerveModuleState state;
+
+  private SwerveModuleState forwardSetpoint;
+
+  private SwerveModuleState reversedSetpoint;
+
+  @Setup
+  public void setup() {
+    state = new SwerveModuleState(2.0, Rotation2d.fromDegrees(10.0));
+
+    forwardSetpoint = new SwerveModuleState(3.0, Rotation2d.fromDegrees(40.0));
+    reversedSetpoint = new SwerveModuleState(3.0, Rotation2d.fromDegrees(170.0));
+  }
+
+  /** Optimizes a setpoint which does not need to be reversed. */
+  @Benchmark
+  public SwerveModuleState forward() {
+    SwerveModuleIOCustom.optimize(forwardSetpoint, state, true, optimized);
+
+    return optimized;
+  }
+
+  /** Optimizes a setpoint which needs to be reversed. */
+  @Benchmark
+  public SwerveModuleState reversed() {
+    SwerveModuleIOCustom.optimize(reversedSetpoint, state, true, optimized);
+
+    return optimized;
+  }
+}
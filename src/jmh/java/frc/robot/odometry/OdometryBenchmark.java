@@ -0,0 +1,48 @@
+package frc.robot.odometry;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import frc.robot.swerve.Swerve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks the odometry hot path using the simulated swerve and gyroscope. */
+@State(Scope.Thread)
+public class OdometryBenchmark {
+
+  private final ChassisSpeeds speeds = new ChassisSpeeds(2.0, 1.0, 0.5);
+
+  private Swerve swerve;
+
+  private Odometry odometry;
+
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+
+    swerve = Swerve.getInstance();
+    odometry = Odometry.getInstance();
+
+    swerve.setChassisSpeeds(speeds);
+  }
+
+  /** Calculates the field-relative velocity. */
+  @Benchmark
+  public Twist2d getVelocity() {
+    return odometry.getVelocity();
+  }
+
+  /** Samples the modules and updates the pose estimator, as in each loop. */
+  @Benchmark
+  public Pose2d periodic() {
+    swerve.sample();
+
+    odometry.periodic();
+
+    return odometry.getPosition();
+  }
+}
@@ -0,0 +1,52 @@
+package frc.robot.swerve;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks {@link Swerve#setChassisSpeeds(ChassisSpeeds)} using simulated swerve modules, which
+ * discretizes the chassis speeds, generates the module setpoints, and sets them on the modules.
+ */
+@State(Scope.Thread)
+public class SetChassisSpeedsBenchmark {
+
+  /** Number of loops between changes of direction. */
+  private static final int LOOPS_PER_DIRECTION = 25;
+
+  private final ChassisSpeeds speeds = new ChassisSpeeds(3.0, 1.5, 2.0);
+
+  private final ChassisSpeeds[] directions = {
+    new ChassisSpeeds(3.0, 0.0, 0.0),
+    new ChassisSpeeds(0.0, 3.0, 2.0),
+    new ChassisSpeeds(-3.0, 0.0, 0.0),
+    new ChassisSpeeds(2.0, -2.0, -3.0)
+  };
+
+  private Swerve swerve;
+
+  private int loop = 0;
+
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+
+    swerve = Swerve.getInstance();
+  }
+
+  /** Drives at constant chassis speeds, so the modules hold their angles. */
+  @Benchmark
+  public void steady() {
+    swerve.setChassisSpeeds(speeds);
+  }
+
+  /** Changes direction every few loops, so the modules steer and reverse. */
+  @Benchmark
+  public void changingDirection() {
+    swerve.setChassisSpeeds(directions[loop / LOOPS_PER_DIRECTION % directions.length]);
+    loop++;
+  }
+}
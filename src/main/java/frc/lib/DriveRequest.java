@@ -14,7 +14,7 @@ public record DriveRequest(
     double rotationVelocityAxis) {
 
   /** Translation mode. */
-  private enum TranslationMode {
+  public enum TranslationMode {
     /** Field-centric driving. */
     FIELD_CENTRIC,
     /** Robot-centric driving. */
@@ -22,7 +22,7 @@ public record DriveRequest(
   }
 
   /** Rotation mode. */
-  private enum RotationMode {
+  public enum RotationMode {
     /** Drifting (no rotation requested). */
     DRIFTING,
     /** Spinning (velocity requested). */
@@ -53,12 +53,43 @@ public record DriveRequest(
    * @return a new driver request from controller inputs.
    */
   public static DriveRequest fromController(CommandXboxController controller) {
-    boolean snipingRequested = Math.abs(controller.getLeftTriggerAxis()) > 0.5;
-    boolean aligningRequested = Math.abs(controller.getRightTriggerAxis()) > 0.5;
-
-    double translationX = -controller.getLeftY();
+    return fromAxes(
+        controller.getLeftX(),
+        controller.getLeftY(),
+        controller.getRightX(),
+        controller.getRightY(),
+        controller.getLeftTriggerAxis(),
+        controller.getRightTriggerAxis(),
+        controller.getHID().getLeftBumper());
+  }
 
-    double translationY = -controller.getLeftX();
+  /**
+   * Creates a new driver request from controller axes.
+   *
+   * @param leftX the left stick x axis.
+   * @param leftY the left stick y axis.
+   * @param rightX the right stick x axis.
+   * @param rightY the right stick y axis.
+   * @param leftTrigger the left trigger axis.
+   * @param rightTrigger the right trigger axis.
+   * @param leftBumper the left bumper button.
+   * @return a new driver request from controller axes.
+   */
+  public static DriveRequest fromAxes(
+      double leftX,
+      double leftY,
+      double rightX,
+      double rightY,
+      double leftTrigger,
+      double rightTrigger,
+      boolean leftBumper) {
+    boolean snipingRequested = Math.abs(leftTrigger) > 0.5;
+    boolean robotCentricRequested = leftBumper;
+    boolean aligningRequested = Math.abs(rightTrigger) > 0.5;
+
+    double translationX = -leftY;
+
+    double translationY = -leftX;
 
     double translationMagnitude = Math.hypot(translationX, translationY);
     Rotation2d translationDirection = new Rotation2d(translationX, translationY);
@@ -73,9 +104,10 @@ public record DriveRequest(
 
     Translation2d translationAxis = new Translation2d(translationMagnitude, translationDirection);
 
-    TranslationMode translationMode = TranslationMode.FIELD_CENTRIC;
+    TranslationMode translationMode =
+        robotCentricRequested ? TranslationMode.ROBOT_CENTRIC : TranslationMode.FIELD_CENTRIC;
 
-    Translation2d headingAxis = new Translation2d(-controller.getRightY(), -controller.getRightX());
+    Translation2d headingAxis = new Translation2d(-rightY, -rightX);
 
     RotationMode rotationMode;
 
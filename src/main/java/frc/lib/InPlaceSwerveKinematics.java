@@ -0,0 +1,201 @@
+package frc.lib;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import org.ejml.simple.SimpleMatrix;
+
+/** Swerve kinematics which write into preallocated objects instead of allocating new ones. */
+public class InPlaceSwerveKinematics {
+
+  /** Module x positions in meters. */
+  private final double[] moduleXMeters;
+
+  /** Module y positions in meters. */
+  private final double[] moduleYMeters;
+
+  /**
+   * Forward kinematics matrix (pseudo-inverse of the inverse kinematics matrix). Stored row-major,
+   * with a row for each of x velocity, y velocity, and rotation velocity.
+   */
+  private final double[] forwardKinematics;
+
+  /**
+   * Creates new in-place swerve kinematics.
+   *
+   * @param moduleTranslations the positions of the swerve modules relative to the robot center.
+   */
+  public InPlaceSwerveKinematics(Translation2d... moduleTranslations) {
+    final int modules = moduleTranslations.length;
+
+    moduleXMeters = new double[modules];
+    moduleYMeters = new double[modules];
+
+    SimpleMatrix inverseKinematics = new SimpleMatrix(2 * modules, 3);
+
+    for (int i = 0; i < modules; i++) {
+      moduleXMeters[i] = moduleTranslations[i].getX();
+      moduleYMeters[i] = moduleTranslations[i].getY();
+
+      inverseKinematics.setRow(2 * i, 0, 1, 0, -moduleYMeters[i]);
+      inverseKinematics.setRow(2 * i + 1, 0, 0, 1, moduleXMeters[i]);
+    }
+
+    SimpleMatrix pseudoInverse = inverseKinematics.pseudoInverse();
+
+    forwardKinematics = new double[3 * 2 * modules];
+
+    for (int row = 0; row < 3; row++) {
+      for (int column = 0; column < 2 * modules; column++) {
+        forwardKinematics[row * 2 * modules + column] = pseudoInverse.get(row, column);
+      }
+    }
+  }
+
+  /**
+   * Returns a rotation with the direction of a vector, reusing the previous rotation if the
+   * direction is unchanged.
+   *
+   * @param previous the previous rotation.
+   * @param x the x component of the vector.
+   * @param y the y component of the vector.
+   * @return a rotation with the direction of the vector.
+   */
+  public static Rotation2d reuseRotation(Rotation2d previous, double x, double y) {
+    double magnitude = Math.hypot(x, y);
+
+    if (previous.getCos() == x / magnitude && previous.getSin() == y / magnitude) {
+      return previous;
+    }
+
+    return new Rotation2d(x, y);
+  }
+
+  /**
+   * Returns a rotation with an angle, reusing the previous rotation if the angle is unchanged.
+   *
+   * @param previous the previous rotation.
+   * @param radians the angle in radians.
+   * @return a rotation with the angle.
+   */
+  public static Rotation2d reuseRotation(Rotation2d previous, double radians) {
+    if (previous.getRadians() == radians) {
+      return previous;
+    }
+
+    return new Rotation2d(radians);
+  }
+
+  /**
+   * Calculates the module states for chassis speeds, writing into existing module states. Modules
+   * which are not moving keep their previous angles.
+   *
+   * @param speeds the chassis speeds.
+   * @param states the module states to write into.
+   */
+  public void toSwerveModuleStates(ChassisSpeeds speeds, SwerveModuleState[] states) {
+    for (int i = 0; i < states.length; i++) {
+      double xVelocity = speeds.vxMetersPerSecond - speeds.omegaRadiansPerSecond * moduleYMeters[i];
+      double yVelocity = speeds.vyMetersPerSecond + speeds.omegaRadiansPerSecond * moduleXMeters[i];
+
+      double speed = Math.hypot(xVelocity, yVelocity);
+
+      states[i].speedMetersPerSecond = speed;
+
+      if (speed > 1e-9) {
+        states[i].angle = reuseRotation(states[i].angle, xVelocity, yVelocity);
+      }
+    }
+  }
+
+  /**
+   * Calculates the chassis speeds for module states, writing into existing chassis speeds.
+   *
+   * @param states the module states.
+   * @param speeds the chassis speeds to write into.
+   */
+  public void toChassisSpeeds(SwerveModuleState[] states, ChassisSpeeds speeds) {
+    final int columns = 2 * states.length;
+
+    double xVelocity = 0.0;
+    double yVelocity = 0.0;
+    double rotationVelocity = 0.0;
+
+    for (int i = 0; i < states.length; i++) {
+      double moduleXVelocity = states[i].speedMetersPerSecond * states[i].angle.getCos();
+      double moduleYVelocity = states[i].speedMetersPerSecond * states[i].angle.getSin();
+
+      xVelocity +=
+          forwardKinematics[2 * i] * moduleXVelocity
+              + forwardKinematics[2 * i + 1] * moduleYVelocity;
+      yVelocity +=
+          forwardKinematics[columns + 2 * i] * moduleXVelocity
+              + forwardKinematics[columns + 2 * i + 1] * moduleYVelocity;
+      rotationVelocity +=
+          forwardKinematics[2 * columns + 2 * i] * moduleXVelocity
+              + forwardKinematics[2 * columns + 2 * i + 1] * moduleYVelocity;
+    }
+
+    speeds.vxMetersPerSecond = xVelocity;
+    speeds.vyMetersPerSecond = yVelocity;
+    speeds.omegaRadiansPerSecond = rotationVelocity;
+  }
+
+  /**
+   * Discretizes chassis speeds, writing into existing chassis speeds. Equivalent to {@link
+   * ChassisSpeeds#discretize(ChassisSpeeds, double)}.
+   *
+   * @param speeds the continuous chassis speeds.
+   * @param dtSeconds the duration of the timestep in seconds.
+   * @param discreteSpeeds the chassis speeds to write into. May be the same object as speeds.
+   */
+  public static void discretize(
+      ChassisSpeeds speeds, double dtSeconds, ChassisSpeeds discreteSpeeds) {
+    double dx = speeds.vxMetersPerSecond * dtSeconds;
+    double dy = speeds.vyMetersPerSecond * dtSeconds;
+    double dtheta = speeds.omegaRadiansPerSecond * dtSeconds;
+
+    // Calculates the twist of the pose exponential, as in Pose2d.log
+    double halfDtheta = dtheta / 2.0;
+    double cosMinusOne = Math.cos(dtheta) - 1.0;
+
+    double halfThetaByTanOfHalfDtheta;
+
+    if (Math.abs(cosMinusOne) < 1e-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+    } else {
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * Math.sin(dtheta)) / cosMinusOne;
+    }
+
+    double twistX = dx * halfThetaByTanOfHalfDtheta + dy * halfDtheta;
+    double twistY = -dx * halfDtheta + dy * halfThetaByTanOfHalfDtheta;
+
+    discreteSpeeds.vxMetersPerSecond = twistX / dtSeconds;
+    discreteSpeeds.vyMetersPerSecond = twistY / dtSeconds;
+    discreteSpeeds.omegaRadiansPerSecond = dtheta / dtSeconds;
+  }
+
+  /**
+   * Scales module speeds down so that no module exceeds the maximum speed.
+   *
+   * @param states the module states to desaturate.
+   * @param maximumSpeedMetersPerSecond the maximum speed of each module.
+   */
+  public static void desaturateWheelSpeeds(
+      SwerveModuleState[] states, double maximumSpeedMetersPerSecond) {
+    double realMaximumSpeed = 0.0;
+
+    for (SwerveModuleState state : states) {
+      realMaximumSpeed = Math.max(realMaximumSpeed, Math.abs(state.speedMetersPerSecond));
+    }
+
+    if (realMaximumSpeed <= maximumSpeedMetersPerSecond) {
+      return;
+    }
+
+    for (SwerveModuleState state : states) {
+      state.speedMetersPerSecond *= maximumSpeedMetersPerSecond / realMaximumSpeed;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package frc.lib;
+
+/**
+ * Rolling histogram of durations over a fixed number of recent samples. Uses logarithmic buckets
+ * with a bounded relative error, like an HDR histogram. Preallocated, so recording does not
+ * allocate.
+ */
+public class LatencyHistogram {
+
+  /** Number of bits used for the sub-buckets of each power of two. */
+  private static final int SUB_BUCKET_BITS = 4;
+
+  /** Number of sub-buckets of each power of two. Bounds the relative error to 1/16. */
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** Largest shift tracked. Durations above about 16 seconds share the last bucket. */
+  private static final int MAXIMUM_SHIFT = 20;
+
+  /** Number of buckets. */
+  private static final int BUCKETS = (MAXIMUM_SHIFT + 2) * SUB_BUCKETS;
+
+  /** Number of samples in each bucket. */
+  private final int[] bucketCounts = new int[BUCKETS];
+
+  /** Recent samples in microseconds. */
+  private final long[] windowMicros;
+
+  /** Index of the next sample to write. */
+  private int windowIndex = 0;
+
+  /** Number of samples in the window. */
+  private int windowCount = 0;
+
+  /**
+   * Creates a new latency histogram.
+   *
+   * @param windowSize the number of recent samples to include.
+   */
+  public LatencyHistogram(int windowSize) {
+    windowMicros = new long[windowSize];
+  }
+
+  /**
+   * Returns the bucket for a duration.
+   *
+   * @param micros the duration in microseconds.
+   * @return the bucket for the duration.
+   */
+  private static int bucketOf(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) Math.max(micros, 0);
+    }
+
+    int shift = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+    int subBucket = (int) (micros >> shift) - SUB_BUCKETS;
+
+    return Math.min((shift + 1) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+  }
+
+  /**
+   * Returns the largest duration in a bucket.
+   *
+   * @param bucket the bucket.
+   * @return the largest duration in the bucket in microseconds.
+   */
+  private static long bucketUpperBoundMicros(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int shift = bucket / SUB_BUCKETS - 1;
+    int subBucket = bucket % SUB_BUCKETS;
+
+    return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * Records a duration, replacing the oldest sample if the window is full.
+   *
+   * @param durationNanos the duration in nanoseconds.
+   */
+  public void record(long durationNanos) {
+    long micros = durationNanos / 1000;
+
+    if (windowCount == windowMicros.length) {
+      bucketCounts[bucketOf(windowMicros[windowIndex])]--;
+    } else {
+      windowCount++;
+    }
+
+    windowMicros[windowIndex] = micros;
+    bucketCounts[bucketOf(micros)]++;
+
+    windowIndex = (windowIndex + 1) % windowMicros.length;
+  }
+
+  /**
+   * Returns a percentile of the recent samples.
+   *
+   * @param percentile the percentile, between 0 and 1.
+   * @return the percentile of the recent samples in milliseconds.
+   */
+  public double getPercentileMillis(double percentile) {
+    if (windowCount == 0) {
+      return 0.0;
+    }
+
+    long target = Math.max((long) Math.ceil(percentile * windowCount), 1);
+    long cumulative = 0;
+
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      cumulative += bucketCounts[bucket];
+
+      if (cumulative >= target) {
+        return bucketUpperBoundMicros(bucket) / 1000.0;
+      }
+    }
+
+    return bucketUpperBoundMicros(BUCKETS - 1) / 1000.0;
+  }
+
+  /**
+   * Returns the maximum of the recent samples.
+   *
+   * @return the maximum of the recent samples in milliseconds.
+   */
+  public double getMaximumMillis() {
+    long maximumMicros = 0;
+
+    for (int i = 0; i < windowCount; i++) {
+      maximumMicros = Math.max(maximumMicros, windowMicros[i]);
+    }
+
+    return maximumMicros / 1000.0;
+  }
+}
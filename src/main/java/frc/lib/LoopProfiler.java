@@ -0,0 +1,168 @@
+package frc.lib;
+
+import edu.wpi.first.networktables.DoubleEntry;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.WrapperCommand;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/** Measures the duration of each part of the robot loop and publishes the statistics. */
+public class LoopProfiler {
+
+  /** Name of the Network Tables table which statistics are published to. */
+  private static final String TABLE = "Profiler";
+
+  /** Number of samples included in each section's statistics. */
+  private static final int WINDOW_SIZE = 500;
+
+  /** Number of loops between publishing statistics. */
+  private static final int PUBLISH_PERIOD_LOOPS = 25;
+
+  /** Maximum number of command names which are profiled. Further commands are not profiled. */
+  private static final int MAXIMUM_COMMAND_SECTIONS = 64;
+
+  /** Profiled section of the robot loop. */
+  public static class Section {
+    /** Histogram of the section's recent durations. */
+    private final LatencyHistogram histogram = new LatencyHistogram(WINDOW_SIZE);
+
+    /** Published statistics. */
+    private final DoubleEntry p50, p95, p99, maximum;
+
+    /**
+     * Creates a new profiled section.
+     *
+     * @param name the name of the section.
+     */
+    private Section(String name) {
+      p50 = Telemetry.addDoubleEntry(TABLE, name + "/p50 (ms)");
+      p95 = Telemetry.addDoubleEntry(TABLE, name + "/p95 (ms)");
+      p99 = Telemetry.addDoubleEntry(TABLE, name + "/p99 (ms)");
+      maximum = Telemetry.addDoubleEntry(TABLE, name + "/Max (ms)");
+    }
+
+    /**
+     * Records a duration of the section.
+     *
+     * @param durationNanos the duration in nanoseconds.
+     */
+    public void record(long durationNanos) {
+      histogram.record(durationNanos);
+    }
+
+    /** Publishes the section's statistics. */
+    private void publish() {
+      p50.set(histogram.getPercentileMillis(0.50));
+      p95.set(histogram.getPercentileMillis(0.95));
+      p99.set(histogram.getPercentileMillis(0.99));
+      maximum.set(histogram.getMaximumMillis());
+    }
+  }
+
+  /** Command which profiles the execution of another command. */
+  private static class ProfiledCommand extends WrapperCommand {
+    /** Profiled section of the command. Looked up on the first execution. */
+    private Section section = null;
+
+    /**
+     * Creates a new profiled command.
+     *
+     * @param command the command to profile.
+     */
+    private ProfiledCommand(Command command) {
+      super(command);
+    }
+
+    @Override
+    public void execute() {
+      long startNanos = System.nanoTime();
+
+      m_command.execute();
+
+      long durationNanos = System.nanoTime() - startNanos;
+
+      if (section == null) {
+        section = getCommandSection(getName());
+      }
+
+      if (section != null) {
+        section.record(durationNanos);
+      }
+    }
+  }
+
+  /** All profiled sections. */
+  private static final ArrayList<Section> sections = new ArrayList<>();
+
+  /** Profiled sections for each command name. */
+  private static final HashMap<String, Section> commandSections = new HashMap<>();
+
+  /** Number of loops since statistics were published. */
+  private static int loopsSincePublish = 0;
+
+  /**
+   * Creates a profiled section.
+   *
+   * @param name the name of the section.
+   * @return the profiled section.
+   */
+  public static Section addSection(String name) {
+    Section section = new Section(name);
+
+    sections.add(section);
+
+    return section;
+  }
+
+  /**
+   * Returns the current time.
+   *
+   * @return the current time in nanoseconds.
+   */
+  public static long mark() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Wraps a command so that the duration of each of its executions is profiled. Commands with the
+   * same name share a profiled section. The wrapped command must not be used elsewhere.
+   *
+   * @param command the command to profile.
+   * @return the profiled command.
+   */
+  public static Command profile(Command command) {
+    return new ProfiledCommand(command);
+  }
+
+  /**
+   * Returns the profiled section for a command name, creating it if there is room.
+   *
+   * @param name the name of the command.
+   * @return the profiled section, or null if too many commands are profiled.
+   */
+  private static Section getCommandSection(String name) {
+    Section section = commandSections.get(name);
+
+    if (section == null && commandSections.size() < MAXIMUM_COMMAND_SECTIONS) {
+      section = addSection("Commands/" + name);
+      commandSections.put(name, section);
+    }
+
+    return section;
+  }
+
+  /** Publishes the statistics of all sections at a low rate. Should be called once per loop. */
+  public static void publish() {
+    loopsSincePublish++;
+
+    if (loopsSincePublish < PUBLISH_PERIOD_LOOPS) {
+      return;
+    }
+
+    loopsSincePublish = 0;
+
+    for (int i = 0; i < sections.size(); i++) {
+      sections.get(i).publish();
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package frc.lib;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+
+/**
+ * Table of preallocated rotations at evenly spaced angles. Rotations are immutable, so code which
+ * produces a new angle every loop looks up the nearest preallocated rotation instead of allocating
+ * a new one.
+ *
+ * <p>Angles are quantized to 1/4096 of a rotation (about 0.09 degrees), the resolution of a
+ * CANcoder, which is much finer than a swerve module can steer to.
+ */
+public class RotationTable {
+
+  /** Number of rotations in the table. */
+  public static final int SIZE = 4096;
+
+  /** Angle between neighboring rotations in radians. */
+  public static final double STEP_RADIANS = 2.0 * Math.PI / SIZE;
+
+  /** Rotations, indexed by their angle in steps. Angles are between -pi and pi. */
+  private static final Rotation2d[] rotations = new Rotation2d[SIZE];
+
+  static {
+    for (int i = 0; i < SIZE; i++) {
+      int steps = i < SIZE / 2 ? i : i - SIZE;
+
+      rotations[i] = new Rotation2d(steps * STEP_RADIANS);
+    }
+  }
+
+  /**
+   * Returns the rotation with an angle in steps.
+   *
+   * @param steps the angle in steps. May be outside of one rotation.
+   * @return the rotation with the angle.
+   */
+  public static Rotation2d fromSteps(long steps) {
+    return rotations[(int) Math.floorMod(steps, (long) SIZE)];
+  }
+
+  /**
+   * Returns the rotation nearest to an angle.
+   *
+   * @param radians the angle in radians.
+   * @return the rotation nearest to the angle.
+   */
+  public static Rotation2d get(double radians) {
+    return fromSteps(Math.round(radians / STEP_RADIANS));
+  }
+
+  /**
+   * Returns the rotation nearest to the direction of a vector.
+   *
+   * @param x the x component of the vector.
+   * @param y the y component of the vector.
+   * @return the rotation nearest to the direction of the vector.
+   */
+  public static Rotation2d get(double x, double y) {
+    return get(Math.atan2(y, x));
+  }
+}
@@ -0,0 +1,19 @@
+package frc.lib;
+
+import com.ctre.phoenix6.StatusSignal;
+import java.util.Objects;
+
+/** A status signal and its derivative, for latency compensated sampling. */
+public record SampledSignal(StatusSignal<Double> value, StatusSignal<Double> slope) {
+
+  /**
+   * Creates a status signal and its derivative, for latency compensated sampling.
+   *
+   * @param value the sampled status signal.
+   * @param slope the derivative of the sampled status signal.
+   */
+  public SampledSignal {
+    Objects.requireNonNull(value);
+    Objects.requireNonNull(slope);
+  }
+}
@@ -0,0 +1,40 @@
+package frc.lib;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/** Registry of status signals which are refreshed together once per loop. */
+public class SignalRegistry {
+
+  /** Registered signals for each CAN bus. */
+  private static final HashMap<String, BaseStatusSignal[]> busSignals = new HashMap<>();
+
+  /**
+   * Registers a device's status signals to be refreshed once per loop.
+   *
+   * @param device the device that the status signals belong to.
+   * @param signals the status signals to register.
+   */
+  public static void register(ParentDevice device, BaseStatusSignal... signals) {
+    String bus = device.getNetwork();
+
+    BaseStatusSignal[] registered = busSignals.getOrDefault(bus, new BaseStatusSignal[0]);
+
+    BaseStatusSignal[] combined = Arrays.copyOf(registered, registered.length + signals.length);
+    System.arraycopy(signals, 0, combined, registered.length, signals.length);
+
+    busSignals.put(bus, combined);
+
+    // Refresh the signals so that they are valid before the first loop
+    BaseStatusSignal.refreshAll(signals);
+  }
+
+  /** Refreshes all registered status signals with one refresh per CAN bus. */
+  public static void refreshAll() {
+    for (BaseStatusSignal[] signals : busSignals.values()) {
+      BaseStatusSignal.refreshAll(signals);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package frc.lib;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.BatterySim;
+import edu.wpi.first.wpilibj.simulation.RoboRioSim;
+import java.util.ArrayList;
+import java.util.function.DoubleSupplier;
+
+/** Simulates the battery voltage sagging under the current drawn by simulated mechanisms. */
+public class SimulatedBattery {
+
+  /** Supplies the current drawn by each simulated mechanism in amps. */
+  private static final ArrayList<DoubleSupplier> currentSuppliers = new ArrayList<>();
+
+  /** Current drawn by each simulated mechanism in amps. Reused between updates. */
+  private static double[] currentsAmps = new double[0];
+
+  /**
+   * Adds a simulated mechanism which draws current from the battery.
+   *
+   * @param currentSupplier supplies the current drawn by the mechanism in amps.
+   */
+  public static void addCurrent(DoubleSupplier currentSupplier) {
+    currentSuppliers.add(currentSupplier);
+
+    currentsAmps = new double[currentSuppliers.size()];
+  }
+
+  /** Updates the simulated battery voltage. Should be called once per simulation loop. */
+  public static void update() {
+    for (int i = 0; i < currentsAmps.length; i++) {
+      currentsAmps[i] = currentSuppliers.get(i).getAsDouble();
+    }
+
+    RoboRioSim.setVInVoltage(BatterySim.calculateDefaultBatteryLoadedVoltage(currentsAmps));
+  }
+
+  /**
+   * Limits a motor's voltage to the battery voltage and to the voltages which keep the stator
+   * current of each motor in the gearbox within a limit.
+   *
+   * @param motor the motor.
+   * @param motorRadiansPerSecond the velocity of the motor in radians per second.
+   * @param volts the requested voltage.
+   * @param statorCurrentLimitAmps the stator current limit of each motor in amps.
+   * @return the limited voltage.
+   */
+  public static double limitVoltage(
+      DCMotor motor, double motorRadiansPerSecond, double volts, double statorCurrentLimitAmps) {
+    double backEmfVolts = motorRadiansPerSecond / motor.KvRadPerSecPerVolt;
+    // The gearbox's resistance is that of its motors in parallel, each limited separately
+    double currentLimitVolts = statorCurrentLimitAmps * motor.numMotors * motor.rOhms;
+
+    double limitedVolts =
+        MathUtil.clamp(volts, backEmfVolts - currentLimitVolts, backEmfVolts + currentLimitVolts);
+
+    double batteryVolts = RobotController.getBatteryVoltage();
+
+    return MathUtil.clamp(limitedVolts, -batteryVolts, batteryVolts);
+  }
+
+  /**
+   * Returns the current drawn from the battery by a motor.
+   *
+   * @param statorAmps the stator current of the motor in amps.
+   * @param volts the voltage applied to the motor.
+   * @return the current drawn from the battery by the motor in amps.
+   */
+  public static double getSupplyCurrent(double statorAmps, double volts) {
+    return Math.abs(statorAmps * volts / Math.max(RobotController.getBatteryVoltage(), 1.0));
+  }
+}
@@ -6,6 +6,25 @@ import edu.wpi.first.wpilibj2.command.SubsystemBase;
 /** Base class for all subsystems. Includes Shuffleboard tab requirement. */
 public abstract class Subsystem extends SubsystemBase {
 
+  /** Profiled section for the subsystem's periodic. Created on the first periodic. */
+  private LoopProfiler.Section periodicSection = null;
+
+  @Override
+  public final void periodic() {
+    if (periodicSection == null) {
+      periodicSection = LoopProfiler.addSection("Subsystems/" + getName());
+    }
+
+    long startNanos = System.nanoTime();
+
+    subsystemPeriodic();
+
+    periodicSection.record(LoopProfiler.mark() - startNanos);
+  }
+
+  /** Called once per loop by the scheduler. The duration is measured by the loop profiler. */
+  public abstract void subsystemPeriodic();
+
   /**
    * Adds information about a subsystem to a Shuffleboard tab.
    *
@@ -0,0 +1,321 @@
+package frc.lib;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+
+/**
+ * Generates swerve module setpoints which the modules can follow. Each loop, the chassis speeds
+ * move from the previous setpoints towards the desired chassis speeds only as far as every module
+ * can accelerate its drive and rotate its steer. Modules which start moving from rest rotate
+ * towards their direction before driving. Every generated module setpoint steers at most the
+ * maximum steer velocity and changes speed at most the maximum drive acceleration from the
+ * previous setpoint.
+ *
+ * <p>Writes into preallocated objects instead of allocating new ones, so it is cheap enough to run
+ * every loop. Module angles are taken from a {@link RotationTable}, so steering does not allocate
+ * either.
+ */
+public class SwerveSetpointGenerator {
+
+  /** Module speed below which a module is considered stopped, in meters per second. */
+  private static final double STOPPED_SPEED = 1e-3;
+
+  /** Steering below which a module keeps its previous angle, in radians. */
+  private static final double NEGLIGIBLE_STEERING = 1e-9;
+
+  /** Number of bisection iterations used to find a module's steering limit. */
+  private static final int STEERING_ITERATIONS = 8;
+
+  /** Swerve kinematics. */
+  private final InPlaceSwerveKinematics kinematics;
+
+  /** Module x positions in meters. */
+  private final double[] moduleXMeters;
+
+  /** Module y positions in meters. */
+  private final double[] moduleYMeters;
+
+  /** Maximum module speed in meters per second. */
+  private final double maximumDriveVelocity;
+
+  /** Maximum module acceleration in meters per second per second. */
+  private final double maximumDriveAcceleration;
+
+  /** Maximum steer velocity in radians per second. */
+  private final double maximumSteerVelocity;
+
+  /** Chassis speeds of the previous setpoints. Reused between calls. */
+  private final ChassisSpeeds previousSpeeds = new ChassisSpeeds();
+
+  /** Chassis speeds of the generated setpoints. Reused between calls. */
+  private final ChassisSpeeds limitedSpeeds = new ChassisSpeeds();
+
+  /**
+   * Direction of each module's velocity before steering is limited. Kept between calls so that
+   * stopped modules keep their direction.
+   */
+  private final Rotation2d[] directions;
+
+  /**
+   * Creates a new swerve setpoint generator.
+   *
+   * @param maximumDriveVelocity the maximum module speed in meters per second.
+   * @param maximumDriveAcceleration the maximum module acceleration in meters per second per
+   *     second.
+   * @param maximumSteerVelocity the maximum steer velocity in rotations per second.
+   * @param moduleTranslations the positions of the swerve modules relative to the robot center.
+   */
+  public SwerveSetpointGenerator(
+      double maximumDriveVelocity,
+      double maximumDriveAcceleration,
+      double maximumSteerVelocity,
+      Translation2d... moduleTranslations) {
+    this.kinematics = new InPlaceSwerveKinematics(moduleTranslations);
+    this.maximumDriveVelocity = maximumDriveVelocity;
+    this.maximumDriveAcceleration = maximumDriveAcceleration;
+    this.maximumSteerVelocity = 2.0 * Math.PI * maximumSteerVelocity;
+
+    moduleXMeters = new double[moduleTranslations.length];
+    moduleYMeters = new double[moduleTranslations.length];
+    directions = new Rotation2d[moduleTranslations.length];
+
+    for (int i = 0; i < moduleTranslations.length; i++) {
+      moduleXMeters[i] = moduleTranslations[i].getX();
+      moduleYMeters[i] = moduleTranslations[i].getY();
+      directions[i] = RotationTable.fromSteps(0);
+    }
+  }
+
+  /**
+   * Generates the module setpoints which move from the previous setpoints towards the desired
+   * chassis speeds, writing into existing module states.
+   *
+   * @param previousSetpoints the previous module setpoints, as generated by the previous call.
+   * @param desiredSpeeds the desired chassis speeds.
+   * @param dtSeconds the duration of the timestep in seconds.
+   * @param setpoints the module setpoints to write into. Must not share module states with the
+   *     previous setpoints.
+   */
+  public void generate(
+      SwerveModuleState[] previousSetpoints,
+      ChassisSpeeds desiredSpeeds,
+      double dtSeconds,
+      SwerveModuleState[] setpoints) {
+    kinematics.toChassisSpeeds(previousSetpoints, previousSpeeds);
+
+    double maximumVelocityChange = maximumDriveAcceleration * dtSeconds;
+    double maximumAngleChange = maximumSteerVelocity * dtSeconds;
+
+    // Fraction of the way from the previous chassis speeds to the desired chassis speeds
+    double s = 1.0;
+
+    for (int i = 0; i < setpoints.length; i++) {
+      double fromX = moduleX(previousSpeeds, i);
+      double fromY = moduleY(previousSpeeds, i);
+      double changeX = moduleX(desiredSpeeds, i) - fromX;
+      double changeY = moduleY(desiredSpeeds, i) - fromY;
+
+      // Module velocities are linear in s, so the acceleration limit has a closed form
+      double change = Math.hypot(changeX, changeY);
+
+      if (change > maximumVelocityChange) {
+        s = Math.min(s, maximumVelocityChange / change);
+      }
+
+      // Stopped modules may point anywhere, so they are steered below instead
+      if (Math.hypot(fromX, fromY) > STOPPED_SPEED) {
+        s =
+            findSteeringLimit(
+                previousSetpoints[i].angle, fromX, fromY, changeX, changeY, maximumAngleChange, s);
+      }
+    }
+
+    limitedSpeeds.vxMetersPerSecond =
+        previousSpeeds.vxMetersPerSecond
+            + s * (desiredSpeeds.vxMetersPerSecond - previousSpeeds.vxMetersPerSecond);
+    limitedSpeeds.vyMetersPerSecond =
+        previousSpeeds.vyMetersPerSecond
+            + s * (desiredSpeeds.vyMetersPerSecond - previousSpeeds.vyMetersPerSecond);
+    limitedSpeeds.omegaRadiansPerSecond =
+        previousSpeeds.omegaRadiansPerSecond
+            + s * (desiredSpeeds.omegaRadiansPerSecond - previousSpeeds.omegaRadiansPerSecond);
+
+    for (int i = 0; i < setpoints.length; i++) {
+      double x = moduleX(limitedSpeeds, i);
+      double y = moduleY(limitedSpeeds, i);
+
+      setpoints[i].speedMetersPerSecond = Math.hypot(x, y);
+
+      // Modules which are not moving keep their previous direction
+      if (setpoints[i].speedMetersPerSecond > STOPPED_SPEED) {
+        directions[i] = RotationTable.get(x, y);
+      }
+
+      setpoints[i].angle = directions[i];
+    }
+
+    InPlaceSwerveKinematics.desaturateWheelSpeeds(setpoints, maximumDriveVelocity);
+
+    for (int i = 0; i < setpoints.length; i++) {
+      limitModule(previousSetpoints[i], setpoints[i], maximumAngleChange, maximumVelocityChange);
+    }
+  }
+
+  /**
+   * Returns the x velocity of a module for chassis speeds.
+   *
+   * @param speeds the chassis speeds.
+   * @param module the index of the module.
+   * @return the x velocity of the module in meters per second.
+   */
+  private double moduleX(ChassisSpeeds speeds, int module) {
+    return speeds.vxMetersPerSecond - speeds.omegaRadiansPerSecond * moduleYMeters[module];
+  }
+
+  /**
+   * Returns the y velocity of a module for chassis speeds.
+   *
+   * @param speeds the chassis speeds.
+   * @param module the index of the module.
+   * @return the y velocity of the module in meters per second.
+   */
+  private double moduleY(ChassisSpeeds speeds, int module) {
+    return speeds.vyMetersPerSecond + speeds.omegaRadiansPerSecond * moduleXMeters[module];
+  }
+
+  /**
+   * Returns the angle a module must steer to drive in a direction, allowing the module to drive
+   * in reverse.
+   *
+   * @param angle the module angle.
+   * @param x the x component of the direction.
+   * @param y the y component of the direction.
+   * @return the angle the module must steer in radians, between -pi/2 and pi/2.
+   */
+  private static double steeringError(Rotation2d angle, double x, double y) {
+    double error =
+        Math.atan2(
+            angle.getCos() * y - angle.getSin() * x, angle.getCos() * x + angle.getSin() * y);
+
+    if (error > Math.PI / 2.0) {
+      error -= Math.PI;
+    } else if (error < -Math.PI / 2.0) {
+      error += Math.PI;
+    }
+
+    return error;
+  }
+
+  /**
+   * Finds the largest fraction of the velocity change that a moving module can steer to follow.
+   * Assumes the steering needed increases with the fraction.
+   *
+   * @param angle the module's previous angle.
+   * @param fromX the module's previous x velocity.
+   * @param fromY the module's previous y velocity.
+   * @param changeX the change in the module's x velocity.
+   * @param changeY the change in the module's y velocity.
+   * @param maximumAngleChange the maximum angle change in radians.
+   * @param maximumS the largest fraction allowed by other limits.
+   * @return the largest fraction the module can steer to follow.
+   */
+  private static double findSteeringLimit(
+      Rotation2d angle,
+      double fromX,
+      double fromY,
+      double changeX,
+      double changeY,
+      double maximumAngleChange,
+      double maximumS) {
+    double maximumSError =
+        steeringError(angle, fromX + maximumS * changeX, fromY + maximumS * changeY);
+
+    if (Math.abs(maximumSError) <= maximumAngleChange) {
+      return maximumS;
+    }
+
+    double low = 0.0;
+    double high = maximumS;
+
+    for (int i = 0; i < STEERING_ITERATIONS; i++) {
+      double middle = (low + high) / 2.0;
+
+      double x = fromX + middle * changeX;
+      double y = fromY + middle * changeY;
+
+      // Passing through zero speed needs no steering, since the module reverses
+      if (Math.hypot(x, y) < STOPPED_SPEED
+          || Math.abs(steeringError(angle, x, y)) <= maximumAngleChange) {
+        low = middle;
+      } else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  /**
+   * Limits how far a module setpoint steers and accelerates from the previous setpoint, reversing
+   * the module instead of steering more than 90 degrees. Modules which cannot reach their
+   * direction yet drive at the component of their speed which is in the direction they point.
+   *
+   * @param previous the module's previous setpoint.
+   * @param setpoint the module setpoint to limit. Its speed must not be negative.
+   * @param maximumAngleChange the maximum angle change in radians.
+   * @param maximumVelocityChange the maximum speed change in meters per second.
+   */
+  private static void limitModule(
+      SwerveModuleState previous,
+      SwerveModuleState setpoint,
+      double maximumAngleChange,
+      double maximumVelocityChange) {
+    Rotation2d previousAngle = previous.angle;
+
+    double speed = setpoint.speedMetersPerSecond;
+
+    if (speed < STOPPED_SPEED) {
+      speed = 0.0;
+      setpoint.angle = previousAngle;
+    } else {
+      double x = setpoint.angle.getCos();
+      double y = setpoint.angle.getSin();
+
+      // Reverse the module instead of rotating it more than 90 degrees
+      boolean reversed = previousAngle.getCos() * x + previousAngle.getSin() * y < 0.0;
+
+      if (reversed) {
+        speed = -speed;
+      }
+
+      double error = steeringError(previousAngle, x, y);
+
+      if (Math.abs(error) < NEGLIGIBLE_STEERING) {
+        setpoint.angle = previousAngle;
+      } else if (Math.abs(error) <= maximumAngleChange) {
+        if (reversed) {
+          setpoint.angle = RotationTable.get(-x, -y);
+        }
+      } else {
+        double limitedSteps =
+            (previousAngle.getRadians() + Math.copySign(maximumAngleChange, error))
+                / RotationTable.STEP_RADIANS;
+
+        // Round towards the previous angle so that the module never steers more than the limit
+        setpoint.angle =
+            RotationTable.fromSteps(
+                (long) (error > 0.0 ? Math.floor(limitedSteps) : Math.ceil(limitedSteps)));
+        speed *= Math.cos(steeringError(setpoint.angle, x, y));
+      }
+    }
+
+    setpoint.speedMetersPerSecond =
+        MathUtil.clamp(
+            speed,
+            previous.speedMetersPerSecond - maximumVelocityChange,
+            previous.speedMetersPerSecond + maximumVelocityChange);
+  }
+}
@@ -1,18 +1,18 @@
 package frc.lib;
 
-import edu.wpi.first.math.kinematics.SwerveModuleState;
 import edu.wpi.first.networktables.BooleanEntry;
 import edu.wpi.first.networktables.DoubleEntry;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StructArrayPublisher;
+import edu.wpi.first.networktables.StructPublisher;
+import edu.wpi.first.util.struct.Struct;
 import edu.wpi.first.wpilibj.shuffleboard.BuiltInLayouts;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardComponent;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardLayout;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
-import edu.wpi.first.wpilibj.shuffleboard.SuppliedValueWidget;
 import java.util.HashMap;
-import java.util.function.Supplier;
 
 /** Helper class for managing robot telemetry. */
 public class Telemetry {
@@ -87,32 +87,6 @@ public class Telemetry {
     return component.withPosition(0, 0).withSize(10, 4);
   }
 
-  /**
-   * Adds swerve module states to a Shuffleboard tab.
-   *
-   * @param tab the Shuffleboard tab to add the swerve module states to.
-   * @param title the title of the swerve module states.
-   * @param swerveModuleStatesSupplier a supplier for swerve module states.
-   * @return the swerve module states widget.
-   */
-  public static SuppliedValueWidget<double[]> addSwerveModuleStates(
-      ShuffleboardTab tab, String title, Supplier<SwerveModuleState[]> swerveModuleStatesSupplier) {
-    return tab.addDoubleArray(
-        title,
-        () -> {
-          SwerveModuleState[] states = swerveModuleStatesSupplier.get();
-          double[] doubles = new double[8];
-
-          for (int i = 0; i < 4; i++) {
-            SwerveModuleState state = states[i];
-            doubles[2 * i] = state.angle.getDegrees();
-            doubles[2 * i + 1] = state.speedMetersPerSecond;
-          }
-
-          return doubles;
-        });
-  }
-
   /**
    * Gets the Network Tables table.
    *
@@ -176,4 +150,33 @@ public class Telemetry {
   public static DoubleEntry addDoubleEntry(String table, String name) {
     return addDoubleEntry(table, name, 0.0);
   }
+
+  /**
+   * Adds a struct publisher to a Network Tables table. Values are packed into a reused buffer.
+   *
+   * @param <T> the type of the published values.
+   * @param table the name of a Network Tables table.
+   * @param name the name of the struct topic.
+   * @param struct the struct serialization of the published values.
+   * @return the struct publisher.
+   */
+  public static <T> StructPublisher<T> addStructPublisher(
+      String table, String name, Struct<T> struct) {
+    return getTable(table).getStructTopic(name, struct).publish();
+  }
+
+  /**
+   * Adds a struct array publisher to a Network Tables table. Values are packed into a reused
+   * buffer.
+   *
+   * @param <T> the type of the published values.
+   * @param table the name of a Network Tables table.
+   * @param name the name of the struct array topic.
+   * @param struct the struct serialization of the published values.
+   * @return the struct array publisher.
+   */
+  public static <T> StructArrayPublisher<T> addStructArrayPublisher(
+      String table, String name, Struct<T> struct) {
+    return getTable(table).getStructArrayTopic(name, struct).publish();
+  }
 }
@@ -0,0 +1,98 @@
+package frc.lib;
+
+import edu.wpi.first.util.WPIUtilJNI;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.RawLogEntry;
+import edu.wpi.first.util.struct.Struct;
+import edu.wpi.first.wpilibj.DataLogManager;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Helper class for recording robot telemetry to an on-robot log file. Values are packed as structs
+ * into preallocated direct buffers and appended to the log, which is written to disk by its own
+ * background thread.
+ */
+public class TelemetryLog {
+
+  /** Logged channel of struct values. */
+  private static class StructChannel<T> {
+    /** Log entry of the channel. */
+    private final RawLogEntry entry;
+
+    /** Struct serialization of the channel's values. */
+    private final Struct<T> struct;
+
+    /** Supplies the channel's values. */
+    private final Supplier<T> valuesSupplier;
+
+    /** Buffer which values are packed into. Reused between appends. */
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new logged channel of struct values.
+     *
+     * @param log the log to write to.
+     * @param name the name of the channel.
+     * @param struct the struct serialization of the channel's values.
+     * @param valuesSupplier supplies the channel's values.
+     */
+    private StructChannel(DataLog log, String name, Struct<T> struct, Supplier<T> valuesSupplier) {
+      this.entry = new RawLogEntry(log, name, "", struct.getTypeString());
+      this.struct = struct;
+      this.valuesSupplier = valuesSupplier;
+      this.buffer = ByteBuffer.allocateDirect(struct.getSize()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Appends the channel's current values to the log.
+     *
+     * @param timestampMicros the timestamp of the values in microseconds.
+     */
+    private void append(long timestampMicros) {
+      T values = valuesSupplier.get();
+
+      if (values == null) {
+        return;
+      }
+
+      buffer.clear();
+      struct.pack(buffer, values);
+
+      entry.append(buffer, 0, buffer.position(), timestampMicros);
+    }
+  }
+
+  /** Logged channels. */
+  private static final ArrayList<StructChannel<?>> channels = new ArrayList<>();
+
+  /**
+   * Adds a channel of struct values to the log. The values are appended once per loop.
+   *
+   * @param <T> the type of the values.
+   * @param name the name of the channel.
+   * @param struct the struct serialization of the values.
+   * @param valuesSupplier supplies the values. May supply null to skip a loop.
+   */
+  public static <T> void addStruct(String name, Struct<T> struct, Supplier<T> valuesSupplier) {
+    DataLog log = DataLogManager.getLog();
+
+    log.addSchema(struct);
+
+    channels.add(new StructChannel<>(log, name, struct, valuesSupplier));
+  }
+
+  /**
+   * Appends the values of every channel to the log. Does not block on disk I/O. Should be called
+   * once per loop.
+   */
+  public static void update() {
+    long timestampMicros = WPIUtilJNI.now();
+
+    for (int i = 0; i < channels.size(); i++) {
+      channels.get(i).append(timestampMicros);
+    }
+  }
+}
@@ -0,0 +1,332 @@
+package frc.lib;
+
+import edu.wpi.first.networktables.BooleanEntry;
+import edu.wpi.first.networktables.GenericEntry;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.TimedRobot;
+import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardContainer;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Publishes telemetry values to Shuffleboard at limited rates. Each channel's supplier is only
+ * evaluated when the channel is due, and its value is only published when it has changed.
+ */
+public class TelemetryPublisher {
+
+  /** Priority of a telemetry channel. */
+  public enum Priority {
+    /** Needed by the drivers. Published every loop. */
+    CRITICAL(1),
+
+    /** Published every five loops. */
+    NORMAL(5),
+
+    /** Only needed for debugging. Published every 25 loops while debug telemetry is enabled. */
+    DEBUG(25);
+
+    /** Default number of loops between publishing. */
+    private final int periodLoops;
+
+    /**
+     * Creates a new priority.
+     *
+     * @param periodLoops the default number of loops between publishing.
+     */
+    private Priority(int periodLoops) {
+      this.periodLoops = periodLoops;
+    }
+  }
+
+  /** Telemetry channel. */
+  public abstract static class Channel {
+    /** Entry which values are published to. */
+    protected final GenericEntry entry;
+
+    /** Priority of the channel. */
+    private final Priority priority;
+
+    /** Number of loops between publishing. */
+    private int periodLoops;
+
+    /** Offset of the channel's loops. Spreads channels of the same rate across loops. */
+    private int phaseLoops;
+
+    /**
+     * Creates a new telemetry channel.
+     *
+     * @param entry the entry which values are published to.
+     * @param priority the priority of the channel.
+     */
+    private Channel(GenericEntry entry, Priority priority) {
+      this.entry = entry;
+      this.priority = Objects.requireNonNull(priority);
+      this.periodLoops = priority.periodLoops;
+      this.phaseLoops = channels.size() % periodLoops;
+    }
+
+    /**
+     * Sets the rate which the channel is published at.
+     *
+     * @param rateHz the rate in hertz.
+     * @return this channel.
+     */
+    public Channel withRate(double rateHz) {
+      periodLoops = Math.max((int) Math.round(1.0 / (rateHz * TimedRobot.kDefaultPeriod)), 1);
+      phaseLoops = phaseLoops % periodLoops;
+
+      return this;
+    }
+
+    /**
+     * Publishes the channel's value if it is due and has changed.
+     *
+     * @param loop the number of the current loop.
+     */
+    private void update(long loop) {
+      if (priority == Priority.DEBUG && !debugEnabled) {
+        return;
+      }
+
+      if ((loop + phaseLoops) % periodLoops != 0) {
+        return;
+      }
+
+      publishIfChanged();
+    }
+
+    /** Publishes the channel's value if it has changed. */
+    protected abstract void publishIfChanged();
+  }
+
+  /** Telemetry channel of double values. */
+  public static class DoubleChannel extends Channel {
+    /** Supplies the channel's values. */
+    private final DoubleSupplier valueSupplier;
+
+    /** Minimum change of the value before it is published again. */
+    private double deadband = 0.0;
+
+    /** Previously published value. */
+    private double publishedValue = Double.NaN;
+
+    /**
+     * Creates a new telemetry channel of double values.
+     *
+     * @param entry the entry which values are published to.
+     * @param priority the priority of the channel.
+     * @param valueSupplier supplies the channel's values.
+     */
+    private DoubleChannel(GenericEntry entry, Priority priority, DoubleSupplier valueSupplier) {
+      super(entry, priority);
+
+      this.valueSupplier = valueSupplier;
+    }
+
+    /**
+     * Sets the minimum change of the value before it is published again.
+     *
+     * @param deadband the minimum change of the value.
+     * @return this channel.
+     */
+    public DoubleChannel withDeadband(double deadband) {
+      this.deadband = deadband;
+
+      return this;
+    }
+
+    @Override
+    protected void publishIfChanged() {
+      double value = valueSupplier.getAsDouble();
+
+      // The first value is always published since comparisons with NaN are false
+      if (Math.abs(value - publishedValue) <= deadband) {
+        return;
+      }
+
+      entry.setDouble(value);
+
+      publishedValue = value;
+    }
+  }
+
+  /** Telemetry channel of boolean values. */
+  private static class BooleanChannel extends Channel {
+    /** Supplies the channel's values. */
+    private final BooleanSupplier valueSupplier;
+
+    /** Previously published value. Null before the first value is published. */
+    private Boolean publishedValue = null;
+
+    /**
+     * Creates a new telemetry channel of boolean values.
+     *
+     * @param entry the entry which values are published to.
+     * @param priority the priority of the channel.
+     * @param valueSupplier supplies the channel's values.
+     */
+    private BooleanChannel(GenericEntry entry, Priority priority, BooleanSupplier valueSupplier) {
+      super(entry, priority);
+
+      this.valueSupplier = valueSupplier;
+    }
+
+    @Override
+    protected void publishIfChanged() {
+      boolean value = valueSupplier.getAsBoolean();
+
+      if (publishedValue != null && publishedValue == value) {
+        return;
+      }
+
+      entry.setBoolean(value);
+
+      publishedValue = value;
+    }
+  }
+
+  /** Telemetry channel of string values. */
+  private static class StringChannel extends Channel {
+    /** Supplies the channel's values. */
+    private final Supplier<String> valueSupplier;
+
+    /** Previously published value. Null before the first value is published. */
+    private String publishedValue = null;
+
+    /**
+     * Creates a new telemetry channel of string values.
+     *
+     * @param entry the entry which values are published to.
+     * @param priority the priority of the channel.
+     * @param valueSupplier supplies the channel's values.
+     */
+    private StringChannel(GenericEntry entry, Priority priority, Supplier<String> valueSupplier) {
+      super(entry, priority);
+
+      this.valueSupplier = valueSupplier;
+    }
+
+    @Override
+    protected void publishIfChanged() {
+      // Entries cannot hold null, so a null value is published as an empty string
+      String value = Objects.requireNonNullElse(valueSupplier.get(), "");
+
+      if (value.equals(publishedValue)) {
+        return;
+      }
+
+      entry.setString(value);
+
+      publishedValue = value;
+    }
+  }
+
+  /** Telemetry channels. */
+  private static final ArrayList<Channel> channels = new ArrayList<>();
+
+  /** Enables debug telemetry. Can be toggled at runtime. */
+  private static final BooleanEntry debugEnabledEntry =
+      Telemetry.addBooleanEntry("Telemetry", "Debug Enabled", true);
+
+  /** True if debug channels are published this loop. */
+  private static boolean debugEnabled = true;
+
+  /** Number of the current loop. */
+  private static long loop = 0;
+
+  /**
+   * Adds a channel to the list of channels.
+   *
+   * @param <T> the type of the channel.
+   * @param channel the channel.
+   * @return the channel.
+   */
+  private static <T extends Channel> T addChannel(T channel) {
+    channels.add(channel);
+
+    return channel;
+  }
+
+  /**
+   * Adds a double channel to a Shuffleboard container.
+   *
+   * @param container the Shuffleboard container to add the channel to.
+   * @param title the title of the channel.
+   * @param valueSupplier supplies the channel's values.
+   * @param priority the priority of the channel.
+   * @return the double channel.
+   */
+  public static DoubleChannel addDouble(
+      ShuffleboardContainer container,
+      String title,
+      DoubleSupplier valueSupplier,
+      Priority priority) {
+    GenericEntry entry = container.add(title, 0.0).getEntry();
+
+    return addChannel(new DoubleChannel(entry, priority, valueSupplier));
+  }
+
+  /**
+   * Adds a boolean channel to a Shuffleboard container.
+   *
+   * @param container the Shuffleboard container to add the channel to.
+   * @param title the title of the channel.
+   * @param valueSupplier supplies the channel's values.
+   * @param priority the priority of the channel.
+   * @return the boolean channel.
+   */
+  public static Channel addBoolean(
+      ShuffleboardContainer container,
+      String title,
+      BooleanSupplier valueSupplier,
+      Priority priority) {
+    GenericEntry entry = container.add(title, false).getEntry();
+
+    return addChannel(new BooleanChannel(entry, priority, valueSupplier));
+  }
+
+  /**
+   * Adds a string channel to a Shuffleboard container.
+   *
+   * @param container the Shuffleboard container to add the channel to.
+   * @param title the title of the channel.
+   * @param valueSupplier supplies the channel's values. Null values are published as empty strings.
+   * @param priority the priority of the channel.
+   * @return the string channel.
+   */
+  public static Channel addString(
+      ShuffleboardContainer container,
+      String title,
+      Supplier<String> valueSupplier,
+      Priority priority) {
+    GenericEntry entry = container.add(title, "").getEntry();
+
+    return addChannel(new StringChannel(entry, priority, valueSupplier));
+  }
+
+  /**
+   * Enables or disables debug telemetry.
+   *
+   * @param enabled true to publish debug channels.
+   */
+  public static void setDebugEnabled(boolean enabled) {
+    debugEnabledEntry.set(enabled);
+  }
+
+  /**
+   * Publishes each channel that is due and has changed. Debug channels are not published while
+   * connected to the field. Should be called once per loop.
+   */
+  public static void update() {
+    debugEnabled = debugEnabledEntry.get() && !DriverStation.isFMSAttached();
+
+    for (int i = 0; i < channels.size(); i++) {
+      channels.get(i).update(loop);
+    }
+
+    loop++;
+  }
+}
@@ -1,41 +1,17 @@
 package frc.lib.config.applier;
 
+import com.ctre.phoenix6.StatusCode;
 import com.ctre.phoenix6.configs.CANcoderConfiguration;
 import com.ctre.phoenix6.configs.CANcoderConfigurator;
 import com.ctre.phoenix6.configs.MagnetSensorConfigs;
 import com.ctre.phoenix6.hardware.CANcoder;
 import com.ctre.phoenix6.signals.SensorDirectionValue;
-import edu.wpi.first.wpilibj.DriverStation;
 import frc.lib.config.AbsoluteEncoderConfig;
+import java.util.concurrent.CompletableFuture;
 
 /** Applies CANcoder configs. */
 public class CANcoderConfigApplier extends ConfigApplier {
 
-  /**
-   * Reports to the user that a CANcoder failed configuration.
-   *
-   * @param cancoder the CANcoder.
-   */
-  private static void report(CANcoder cancoder) {
-    DriverStation.reportWarning(
-        "Failed to apply config to CANcoder with ID: " + cancoder.getDeviceID(), false);
-  }
-
-  /**
-   * Applies a factory default config to a CANcoder.
-   *
-   * @param cancoder the CANcoder.
-   */
-  public static void applyFactoryDefault(CANcoder cancoder) {
-    CANcoderConfiguration factoryDefaults = new CANcoderConfiguration();
-
-    CANcoderConfigurator configurator = cancoder.getConfigurator();
-
-    if (attempt(() -> configurator.apply(factoryDefaults)) == false) {
-      report(cancoder);
-    }
-  }
-
   /**
    * Creates the magnet sensor configs for the absolute encoder config.
    *
@@ -56,18 +32,27 @@ public class CANcoderConfigApplier extends ConfigApplier {
   }
 
   /**
-   * Applies an absolute encoder config to a CANcoder.
+   * Applies an absolute encoder config to a CANcoder. Every value not set by the absolute encoder
+   * config is reset to its factory default. The config is applied in the background, concurrently
+   * with other devices, and is skipped if the CANcoder already has the config.
    *
    * @param cancoder the CANcoder.
    * @param absoluteEncoderConfig the absolute encoder config.
+   * @return the status of applying the config, which completes once the config is applied.
    */
-  public static void apply(CANcoder cancoder, AbsoluteEncoderConfig absoluteEncoderConfig) {
-    MagnetSensorConfigs magnetSensorConfigs = createMagnetSensorConfigs(absoluteEncoderConfig);
+  public static CompletableFuture<StatusCode> apply(
+      CANcoder cancoder, AbsoluteEncoderConfig absoluteEncoderConfig) {
+    CANcoderConfiguration cancoderConfig = new CANcoderConfiguration();
+
+    cancoderConfig.MagnetSensor = createMagnetSensorConfigs(absoluteEncoderConfig);
 
     CANcoderConfigurator configurator = cancoder.getConfigurator();
 
-    if (attempt(() -> configurator.apply(magnetSensorConfigs)) == false) {
-      report(cancoder);
-    }
+    return applyAsync(
+        getDeviceName("CANcoder", cancoder),
+        cancoderConfig,
+        new CANcoderConfiguration(),
+        configurator::refresh,
+        configurator::apply);
   }
 }
@@ -1,42 +1,483 @@
 package frc.lib.config.applier;
 
 import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
+import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardLayout;
+import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
+import frc.lib.Telemetry;
+import frc.lib.TelemetryPublisher;
+import frc.lib.TelemetryPublisher.Priority;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /** Applies configs. */
 public class ConfigApplier {
 
+  /** Outcome of applying a config to a device. */
+  public enum Outcome {
+    /** The device already had the config, so it was not applied. */
+    SKIPPED,
+
+    /** The config was applied. */
+    APPLIED,
+
+    /** The config failed to apply. */
+    FAILED,
+
+    /** The config did not finish applying within the startup budget. */
+    TIMED_OUT
+  }
+
   /**
-   * Attempts to apply a config. Returns true if successful.
+   * Health of a device's configuration.
    *
-   * @param applier a function that attempts to apply a config. Returns the result of the
-   *     application.
-   * @param isSuccess a function that returns true if the result of an application is a success.
-   * @param retries the number of unsuccessful attempts before failing.
-   * @return true if successful.
+   * @param deviceName the name of the device.
+   * @param configGroup the name of the config group applied to the device.
+   * @param outcome the outcome of applying the config.
+   * @param status the status of the last attempt.
+   * @param attempts the number of attempts made to apply the config.
+   * @param durationMilliseconds the time spent configuring the device in milliseconds.
    */
-  protected static <Result> boolean attempt(
-      Supplier<Result> applier, Function<Result, Boolean> isSuccess, int retries) {
-    for (int i = 0; i < retries; i++) {
-      Result result = applier.get();
+  private record ConfigHealth(
+      String deviceName,
+      String configGroup,
+      Outcome outcome,
+      StatusCode status,
+      int attempts,
+      double durationMilliseconds) {}
+
+  /** Config application to a single device. */
+  private static class Application {
+    /** Name of the device. */
+    private final String deviceName;
+
+    /** Name of the config group applied to the device. */
+    private final String configGroup;
+
+    /** Status of the application, which completes once the application finishes. */
+    private final CompletableFuture<StatusCode> future;
+
+    /** Outcome of the application. Null until the application finishes. */
+    private volatile Outcome outcome = null;
+
+    /** Number of attempts made to apply the config. */
+    private volatile int attempts = 0;
+
+    /** Status of the application. Not initialized until the application finishes an attempt. */
+    private volatile StatusCode status = StatusCode.StatusCodeNotInitialized;
+
+    /** Time that the startup budget of the application runs out in nanoseconds. */
+    private final long deadlineNanos;
+
+    /** Time that the application started in nanoseconds. Zero until the application starts. */
+    private volatile long startNanos = 0;
+
+    /** Time that the application finished in nanoseconds. Zero until the application finishes. */
+    private volatile long endNanos = 0;
+
+    /**
+     * Creates and starts a new config application. An application which has not started by the
+     * deadline times out without using the device.
+     *
+     * @param deviceName the name of the device.
+     * @param configGroup the name of the config group applied to the device.
+     * @param deadlineNanos the time that the startup budget runs out in nanoseconds.
+     * @param applier a function that applies the config. Returns the status of the application.
+     */
+    private Application(
+        String deviceName,
+        String configGroup,
+        long deadlineNanos,
+        Function<Application, StatusCode> applier) {
+      this.deviceName = deviceName;
+      this.configGroup = configGroup;
+      this.deadlineNanos = deadlineNanos;
 
-      if (isSuccess.apply(result)) {
-        return true;
+      this.future =
+          CompletableFuture.supplyAsync(
+              () -> {
+                startNanos = System.nanoTime();
+
+                if (startNanos > deadlineNanos) {
+                  outcome = Outcome.TIMED_OUT;
+                } else {
+                  status = applier.apply(this);
+                }
+
+                endNanos = System.nanoTime();
+
+                return status;
+              },
+              executor);
+    }
+
+    /**
+     * Returns the outcome of the application. Timed out until the application finishes.
+     *
+     * @return the outcome of the application.
+     */
+    private Outcome getOutcome() {
+      Outcome outcome = this.outcome;
+
+      return outcome == null ? Outcome.TIMED_OUT : outcome;
+    }
+
+    /**
+     * Returns the time spent on the application in milliseconds, so far if it has not finished.
+     *
+     * @return the time spent on the application in milliseconds.
+     */
+    private double getDurationMilliseconds() {
+      long startNanos = this.startNanos;
+      long endNanos = this.endNanos;
+
+      if (startNanos == 0) {
+        return 0.0;
       }
+
+      return ((endNanos == 0 ? System.nanoTime() : endNanos) - startNanos) / 1e6;
     }
 
-    return false;
+    /**
+     * Returns the health of the application as of now.
+     *
+     * @return the health of the application.
+     */
+    private ConfigHealth getHealth() {
+      return new ConfigHealth(
+          deviceName, configGroup, getOutcome(), status, attempts, getDurationMilliseconds());
+    }
   }
 
+  /** Number of devices configured at once. */
+  private static final int THREADS = 4;
+
+  /** Maximum number of attempts to apply a config. */
+  private static final int MAX_ATTEMPTS = 10;
+
+  /** Delay before the first retry in milliseconds. Doubles after every failed attempt. */
+  private static final double INITIAL_BACKOFF_MILLISECONDS = 20.0;
+
+  /** Maximum delay between retries in milliseconds. */
+  private static final double MAX_BACKOFF_MILLISECONDS = 1000.0;
+
+  /** Total time that configuring all devices may take in seconds. */
+  private static final double STARTUP_BUDGET_SECONDS = 10.0;
+
+  /** Tolerance when comparing config values read back from a device. */
+  private static final double TOLERANCE = 1e-3;
+
+  /** Applies configs concurrently across devices and buses. */
+  private static final ExecutorService executor =
+      Executors.newFixedThreadPool(
+          THREADS,
+          runnable -> {
+            Thread thread = new Thread(runnable, "Config Applier");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** Pending config applications. */
+  private static final List<Application> pending = new ArrayList<>();
+
+  /** Time that the first pending config application was submitted in nanoseconds. */
+  private static long submittedNanos = 0;
+
+  /** Time that the startup budget of the pending config applications runs out in nanoseconds. */
+  private static long deadlineNanos = 0;
+
   /**
-   * Attempts to apply a Phoenix 6 config. Returns true if successful.
+   * Attempts to apply a Phoenix 6 config until it succeeds, with jittered exponential backoff
+   * between attempts. Gives up after the maximum number of attempts, or if the next attempt would
+   * start after the application's startup budget runs out.
    *
    * @param applier a function that attempts to apply a config. Returns the result of the
    *     application.
-   * @return true if successful.
+   * @param application the config application, which counts the attempts.
+   * @return the status of the last attempt.
+   */
+  private static StatusCode attempt(Supplier<StatusCode> applier, Application application) {
+    StatusCode status = StatusCode.StatusCodeNotInitialized;
+
+    for (int i = 0; i < MAX_ATTEMPTS; i++) {
+      application.attempts++;
+
+      status = applier.get();
+
+      application.status = status;
+
+      if (status.isOK()) {
+        return status;
+      }
+
+      // Jitter spreads out the retries of devices that failed at the same time on a busy bus
+      double backoffMilliseconds =
+          Math.min(INITIAL_BACKOFF_MILLISECONDS * (1 << i), MAX_BACKOFF_MILLISECONDS)
+              * ThreadLocalRandom.current().nextDouble(0.5, 1.5);
+
+      if (System.nanoTime() + backoffMilliseconds * 1e6 > application.deadlineNanos) {
+        return status;
+      }
+
+      try {
+        Thread.sleep((long) backoffMilliseconds);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+
+        return status;
+      }
+    }
+
+    return status;
+  }
+
+  /**
+   * Applies a Phoenix 6 config in the background, concurrently with other devices, unless the
+   * config read back from the device already matches. The read back is always checked, so a
+   * device which was replaced or reset since it was last configured is configured again.
+   *
+   * @param <Config> the type of the config.
+   * @param deviceName the name of the device.
+   * @param config the config to apply.
+   * @param actualConfig the config to read the device's current config into.
+   * @param refresher a function that reads the device's current config into a config.
+   * @param applier a function that applies a config to the device.
+   * @return the status of applying the config, which completes once the application finishes.
+   */
+  protected static synchronized <Config> CompletableFuture<StatusCode> applyAsync(
+      String deviceName,
+      Config config,
+      Config actualConfig,
+      Function<Config, StatusCode> refresher,
+      Function<Config, StatusCode> applier) {
+    if (pending.isEmpty()) {
+      submittedNanos = System.nanoTime();
+      deadlineNanos = submittedNanos + (long) (STARTUP_BUDGET_SECONDS * 1e9);
+    }
+
+    Application application =
+        new Application(
+            deviceName,
+            config.getClass().getSimpleName(),
+            deadlineNanos,
+            self -> {
+              if (refresher.apply(actualConfig).isOK() && matches(config, actualConfig)) {
+                self.outcome = Outcome.SKIPPED;
+
+                return StatusCode.OK;
+              }
+
+              StatusCode status = attempt(() -> applier.apply(config), self);
+
+              self.outcome = status.isOK() ? Outcome.APPLIED : Outcome.FAILED;
+
+              return status;
+            });
+
+    pending.add(application);
+
+    return application.future;
+  }
+
+  /**
+   * Returns true if two Phoenix 6 configs have the same values. Values are compared line by line,
+   * and numeric values are compared with a tolerance since devices store them with less precision.
+   *
+   * @param config the config.
+   * @param actualConfig the config read back from the device.
+   * @return true if the configs have the same values.
+   */
+  private static boolean matches(Object config, Object actualConfig) {
+    String[] lines = config.toString().split("\n");
+    String[] actualLines = actualConfig.toString().split("\n");
+
+    if (lines.length != actualLines.length) {
+      return false;
+    }
+
+    for (int i = 0; i < lines.length; i++) {
+      if (lines[i].equals(actualLines[i]) == false && differs(lines[i], actualLines[i])) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns true if two config lines differ by more than the tolerance.
+   *
+   * @param line the config line.
+   * @param actualLine the config line read back from the device.
+   * @return true if the lines differ by more than the tolerance.
+   */
+  private static boolean differs(String line, String actualLine) {
+    int separator = line.lastIndexOf(':');
+
+    if (separator == -1 || line.regionMatches(0, actualLine, 0, separator + 1) == false) {
+      return true;
+    }
+
+    try {
+      double value = Double.parseDouble(line.substring(separator + 1).trim());
+      double actualValue = Double.parseDouble(actualLine.substring(separator + 1).trim());
+
+      return Math.abs(value - actualValue) > TOLERANCE * Math.max(1.0, Math.abs(value));
+    } catch (NumberFormatException e) {
+      return true;
+    }
+  }
+
+  /**
+   * Returns the name of a device for reports.
+   *
+   * @param type the type of the device.
+   * @param device the device.
+   * @return the name of the device.
+   */
+  protected static String getDeviceName(String type, ParentDevice device) {
+    String bus = device.getNetwork().isEmpty() ? "rio" : device.getNetwork();
+
+    return type + " " + device.getDeviceID() + " (" + bus + ")";
+  }
+
+  /**
+   * Publishes the health of a device's configuration. The health is read from the application
+   * whenever it is published, so an application that finishes after the startup budget is shown.
+   *
+   * @param tab the Shuffleboard tab to publish to.
+   * @param application the config application to the device.
+   */
+  private static void publish(ShuffleboardTab tab, Application application) {
+    ShuffleboardLayout column = Telemetry.addColumn(tab, application.deviceName);
+
+    TelemetryPublisher.addString(
+        column, "Config Group", () -> application.configGroup, Priority.NORMAL);
+    TelemetryPublisher.addString(
+        column, "Outcome", () -> application.getOutcome().name(), Priority.NORMAL);
+    TelemetryPublisher.addString(
+        column, "Status", () -> application.status.getName(), Priority.NORMAL);
+    TelemetryPublisher.addDouble(column, "Attempts", () -> application.attempts, Priority.NORMAL);
+    TelemetryPublisher.addDouble(
+        column, "Duration (ms)", application::getDurationMilliseconds, Priority.NORMAL);
+  }
+
+  /**
+   * Logs the health of a device's configuration.
+   *
+   * @param health the health of the device's configuration.
    */
-  protected static boolean attempt(Supplier<StatusCode> applier) {
-    return attempt(() -> applier.get(), StatusCode::isOK, 10);
+  private static void log(ConfigHealth health) {
+    DataLogManager.log(
+        String.format(
+            "Configured %s with %s in %.0f ms after %d attempts: %s (%s)",
+            health.deviceName(),
+            health.configGroup(),
+            health.durationMilliseconds(),
+            health.attempts(),
+            health.outcome().name().toLowerCase(),
+            health.status().getName()));
+  }
+
+  /**
+   * Returns the names of the devices whose config failed to apply or has not finished applying.
+   *
+   * @param applications the config applications.
+   * @return the names of the devices, separated by commas.
+   */
+  private static String getFailedDeviceNames(List<Application> applications) {
+    List<String> failedDevices = new ArrayList<>();
+
+    for (Application application : applications) {
+      Outcome outcome = application.getOutcome();
+
+      if (outcome == Outcome.FAILED || outcome == Outcome.TIMED_OUT) {
+        failedDevices.add(application.deviceName);
+      }
+    }
+
+    return String.join(", ", failedDevices);
+  }
+
+  /**
+   * Waits for every submitted config application to finish, or for the startup budget to run out.
+   * Then publishes the health of every device to the "Config Health" tab, and warns the user of
+   * each device that failed. Should be called once all hardware has been created.
+   *
+   * <p>Applications that are still running when the budget runs out make no further attempts, and
+   * applications that have not started yet time out without using their device.
+   */
+  public static synchronized void awaitAll() {
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    List<Application> applications = new ArrayList<>(pending);
+
+    pending.clear();
+
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[applications.size()];
+
+    for (int i = 0; i < applications.size(); i++) {
+      futures[i] = applications.get(i).future;
+    }
+
+    try {
+      CompletableFuture.allOf(futures)
+          .get(Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      DriverStation.reportWarning("Device configuration exceeded the startup budget", false);
+    } catch (InterruptedException | ExecutionException e) {
+      DriverStation.reportError("Failed to apply configs: " + e.getMessage(), false);
+    }
+
+    ShuffleboardTab tab = Shuffleboard.getTab("Config Health");
+
+    int failures = 0;
+
+    for (Application application : applications) {
+      publish(tab, application);
+
+      // Applications that are still running are logged once they finish
+      application.future.whenComplete((status, exception) -> log(application.getHealth()));
+
+      ConfigHealth health = application.getHealth();
+
+      if (health.outcome() == Outcome.FAILED || health.outcome() == Outcome.TIMED_OUT) {
+        failures++;
+
+        DriverStation.reportWarning(
+            String.format(
+                "Failed to apply %s to %s after %d attempts: %s",
+                health.configGroup(),
+                health.deviceName(),
+                health.attempts(),
+                health.status().getName()),
+            false);
+      }
+    }
+
+    TelemetryPublisher.addString(
+        Telemetry.addColumn(tab, "Summary"),
+        "Failed Devices",
+        () -> getFailedDeviceNames(applications),
+        Priority.NORMAL);
+
+    DataLogManager.log(
+        String.format(
+            "Configured %d devices in %.0f ms with %d failures",
+            applications.size(), (System.nanoTime() - submittedNanos) / 1e6, failures));
   }
 }
@@ -1,35 +1,31 @@
 package frc.lib.config.applier;
 
+import com.ctre.phoenix6.StatusCode;
 import com.ctre.phoenix6.configs.Pigeon2Configuration;
 import com.ctre.phoenix6.configs.Pigeon2Configurator;
 import com.ctre.phoenix6.hardware.Pigeon2;
-import edu.wpi.first.wpilibj.DriverStation;
+import java.util.concurrent.CompletableFuture;
 
 /** Applies Pigeon 2 configs. */
 public class Pigeon2ConfigApplier extends ConfigApplier {
 
   /**
-   * Reports to the user that a Pigeon 2 failed configuration.
+   * Applies a factory default config to a Pigeon 2. The config is applied in the background,
+   * concurrently with other devices, and is skipped if the Pigeon 2 already has the config.
    *
    * @param pigeon2 the Pigeon 2.
+   * @return the status of applying the config, which completes once the config is applied.
    */
-  private static void report(Pigeon2 pigeon2) {
-    DriverStation.reportWarning(
-        "Failed to apply config to Pigeon 2 with ID: " + pigeon2.getDeviceID(), false);
-  }
-
-  /**
-   * Applies a factory default config to a Pigeon 2.
-   *
-   * @param pigeon2 the Pigeon 2.
-   */
-  public static void applyFactoryDefault(Pigeon2 pigeon2) {
+  public static CompletableFuture<StatusCode> applyFactoryDefault(Pigeon2 pigeon2) {
     Pigeon2Configuration factoryDefaults = new Pigeon2Configuration();
 
     Pigeon2Configurator configurator = pigeon2.getConfigurator();
 
-    if (attempt(() -> configurator.apply(factoryDefaults)) == false) {
-      report(pigeon2);
-    }
+    return applyAsync(
+        getDeviceName("Pigeon 2", pigeon2),
+        factoryDefaults,
+        new Pigeon2Configuration(),
+        configurator::refresh,
+        configurator::apply);
   }
 }
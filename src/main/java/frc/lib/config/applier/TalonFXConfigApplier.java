@@ -1,44 +1,28 @@
 package frc.lib.config.applier;
 
+import com.ctre.phoenix6.StatusCode;
 import com.ctre.phoenix6.configs.CurrentLimitsConfigs;
 import com.ctre.phoenix6.configs.FeedbackConfigs;
+import com.ctre.phoenix6.configs.MotionMagicConfigs;
 import com.ctre.phoenix6.configs.MotorOutputConfigs;
+import com.ctre.phoenix6.configs.Slot0Configs;
 import com.ctre.phoenix6.configs.TalonFXConfiguration;
 import com.ctre.phoenix6.configs.TalonFXConfigurator;
 import com.ctre.phoenix6.hardware.TalonFX;
+import com.ctre.phoenix6.signals.FeedbackSensorSourceValue;
+import com.ctre.phoenix6.signals.GravityTypeValue;
 import com.ctre.phoenix6.signals.InvertedValue;
 import com.ctre.phoenix6.signals.NeutralModeValue;
-import edu.wpi.first.wpilibj.DriverStation;
+import frc.lib.config.FeedbackControllerConfig;
+import frc.lib.config.FeedforwardControllerConfig;
+import frc.lib.config.MechanismConfig;
+import frc.lib.config.MotionProfileConfig;
 import frc.lib.config.MotorConfig;
+import java.util.concurrent.CompletableFuture;
 
 /** Applies TalonFX configs. */
 public class TalonFXConfigApplier extends ConfigApplier {
 
-  /**
-   * Reports to the user that a TalonFX failed configuration.
-   *
-   * @param talonFX the TalonFX.
-   */
-  private static void report(TalonFX talonFX) {
-    DriverStation.reportWarning(
-        "Failed to apply config to TalonFX with ID: " + talonFX.getDeviceID(), false);
-  }
-
-  /**
-   * Applies a factory default config to a TalonFX.
-   *
-   * @param talonFX the TalonFX.
-   */
-  public static void applyFactoryDefault(TalonFX talonFX) {
-    TalonFXConfiguration factoryDefaults = new TalonFXConfiguration();
-
-    TalonFXConfigurator configurator = talonFX.getConfigurator();
-
-    if (attempt(() -> configurator.apply(factoryDefaults)) == false) {
-      report(talonFX);
-    }
-  }
-
   /***
    * Creates the current limits configs for the motor config.
    *
@@ -72,8 +56,8 @@ public class TalonFXConfigApplier extends ConfigApplier {
   private static FeedbackConfigs createFeedbackConfigs(MotorConfig motorConfig) {
     FeedbackConfigs feedbackConfigs = new FeedbackConfigs();
 
-    // TODO This needs to be rethought if a fused/remote sensor is going to be used
-    // By default, the sensor is the motor sensor, so we can use the motor sensor
+    // Only covers the rotor sensor, which is the default feedback source. Configs which read a
+    // remote CANcoder, such as applyMotionMagicArm, override the feedback source and sensor ratio
     feedbackConfigs.SensorToMechanismRatio = motorConfig.motorToMechanismRatio();
 
     return feedbackConfigs;
@@ -99,28 +83,148 @@ public class TalonFXConfigApplier extends ConfigApplier {
   }
 
   /**
-   * Applies a motor config to a TalonFX.
+   * Creates the slot 0 configs for the feedforward and feedback controller configs. The gains are
+   * in volts per mechanism rotation, since the sensor to mechanism ratio is applied on the TalonFX.
+   *
+   * @param feedforwardControllerConfig the feedforward controller config.
+   * @param feedbackControllerConfig the feedback controller config.
+   * @return the created slot 0 configs.
+   */
+  private static Slot0Configs createSlot0Configs(
+      FeedforwardControllerConfig feedforwardControllerConfig,
+      FeedbackControllerConfig feedbackControllerConfig) {
+    Slot0Configs slot0Configs = new Slot0Configs();
+
+    slot0Configs.kS = feedforwardControllerConfig.kS();
+    slot0Configs.kG = feedforwardControllerConfig.kG();
+    slot0Configs.kV = feedforwardControllerConfig.kV();
+    slot0Configs.kA = feedforwardControllerConfig.kA();
+
+    slot0Configs.kP = feedbackControllerConfig.kP();
+    slot0Configs.kI = feedbackControllerConfig.kI();
+    slot0Configs.kD = feedbackControllerConfig.kD();
+
+    return slot0Configs;
+  }
+
+  /**
+   * Creates the motion magic configs for the motion profile config.
+   *
+   * @param motionProfileConfig the motion profile config.
+   * @return the created motion magic configs.
+   */
+  private static MotionMagicConfigs createMotionMagicConfigs(
+      MotionProfileConfig motionProfileConfig) {
+    MotionMagicConfigs motionMagicConfigs = new MotionMagicConfigs();
+
+    motionMagicConfigs.MotionMagicCruiseVelocity = motionProfileConfig.maximumVelocity();
+    motionMagicConfigs.MotionMagicAcceleration = motionProfileConfig.maximumAcceleration();
+
+    return motionMagicConfigs;
+  }
+
+  /**
+   * Creates the complete TalonFX configuration for the motor config. Every value not set by the
+   * motor config is left at its factory default.
    *
-   * @param talonFX the TalonFX.
    * @param motorConfig the motor config.
+   * @return the created TalonFX configuration.
    */
-  public static void apply(TalonFX talonFX, MotorConfig motorConfig) {
-    CurrentLimitsConfigs currentLimitsConfigs = createCurrentLimitsConfigs(motorConfig);
-    FeedbackConfigs feedbackConfigs = createFeedbackConfigs(motorConfig);
-    MotorOutputConfigs motorOutputConfigs = createMotorOutputConfigs(motorConfig);
+  private static TalonFXConfiguration createConfiguration(MotorConfig motorConfig) {
+    TalonFXConfiguration talonFXConfig = new TalonFXConfiguration();
 
+    talonFXConfig.CurrentLimits = createCurrentLimitsConfigs(motorConfig);
+    talonFXConfig.Feedback = createFeedbackConfigs(motorConfig);
+    talonFXConfig.MotorOutput = createMotorOutputConfigs(motorConfig);
+
+    return talonFXConfig;
+  }
+
+  /**
+   * Applies a TalonFX configuration to a TalonFX. The config is applied in the background,
+   * concurrently with other devices, and is skipped if the TalonFX already has the config.
+   *
+   * @param talonFX the TalonFX.
+   * @param talonFXConfig the TalonFX configuration.
+   * @return the status of applying the config, which completes once the config is applied.
+   */
+  private static CompletableFuture<StatusCode> apply(
+      TalonFX talonFX, TalonFXConfiguration talonFXConfig) {
     TalonFXConfigurator configurator = talonFX.getConfigurator();
 
-    if (attempt(() -> configurator.apply(currentLimitsConfigs)) == false) {
-      report(talonFX);
-    }
+    return applyAsync(
+        getDeviceName("TalonFX", talonFX),
+        talonFXConfig,
+        new TalonFXConfiguration(),
+        configurator::refresh,
+        configurator::apply);
+  }
+
+  /**
+   * Applies a motor config to a TalonFX. The config is applied in the background, concurrently with
+   * other devices, and is skipped if the TalonFX already has the config.
+   *
+   * @param talonFX the TalonFX.
+   * @param motorConfig the motor config.
+   * @return the status of applying the config, which completes once the config is applied.
+   */
+  public static CompletableFuture<StatusCode> apply(TalonFX talonFX, MotorConfig motorConfig) {
+    return apply(talonFX, createConfiguration(motorConfig));
+  }
+
+  /**
+   * Applies a motor config to a TalonFX, with the feedforward and feedback controller configs
+   * loaded into slot 0 for onboard closed-loop control. The config is applied in the background,
+   * concurrently with other devices, and is skipped if the TalonFX already has the config.
+   *
+   * @param talonFX the TalonFX.
+   * @param motorConfig the motor config.
+   * @param feedforwardControllerConfig the feedforward controller config.
+   * @param feedbackControllerConfig the feedback controller config.
+   * @return the status of applying the config, which completes once the config is applied.
+   */
+  public static CompletableFuture<StatusCode> apply(
+      TalonFX talonFX,
+      MotorConfig motorConfig,
+      FeedforwardControllerConfig feedforwardControllerConfig,
+      FeedbackControllerConfig feedbackControllerConfig) {
+    TalonFXConfiguration talonFXConfig = createConfiguration(motorConfig);
+
+    talonFXConfig.Slot0 = createSlot0Configs(feedforwardControllerConfig, feedbackControllerConfig);
+
+    return apply(talonFX, talonFXConfig);
+  }
+
+  /**
+   * Applies a mechanism config to a TalonFX for onboard motion magic control of an arm. The TalonFX
+   * reads a remote CANcoder as its feedback sensor, generates the motion profile, and runs the
+   * feedforward and feedback with the arm's gravity. A remote CANcoder does not need a Phoenix Pro
+   * license, unlike a fused CANcoder. The CANcoder must read zero when the arm is horizontal. The
+   * config is applied in the background, concurrently with other devices, and is skipped if the
+   * TalonFX already has the config.
+   *
+   * @param talonFX the TalonFX.
+   * @param mechanismConfig the mechanism config.
+   * @param cancoderID the ID of the CANcoder to read.
+   * @return the status of applying the config, which completes once the config is applied.
+   */
+  public static CompletableFuture<StatusCode> applyMotionMagicArm(
+      TalonFX talonFX, MechanismConfig mechanismConfig, int cancoderID) {
+    TalonFXConfiguration talonFXConfig = createConfiguration(mechanismConfig.motorConfig());
+
+    talonFXConfig.Feedback.FeedbackSensorSource = FeedbackSensorSourceValue.RemoteCANcoder;
+    talonFXConfig.Feedback.FeedbackRemoteSensorID = cancoderID;
+    talonFXConfig.Feedback.SensorToMechanismRatio =
+        mechanismConfig.absoluteEncoderConfig().sensorToMechanismRatio();
+
+    talonFXConfig.Slot0 =
+        createSlot0Configs(
+            mechanismConfig.feedforwardControllerConfig(),
+            mechanismConfig.feedbackControllerConfig());
+    talonFXConfig.Slot0.GravityType = GravityTypeValue.Arm_Cosine;
 
-    if (attempt(() -> configurator.apply(feedbackConfigs)) == false) {
-      report(talonFX);
-    }
+    talonFXConfig.MotionMagic = createMotionMagicConfigs(mechanismConfig.motionProfileConfig());
 
-    if (attempt(() -> configurator.apply(motorOutputConfigs)) == false) {
-      report(talonFX);
-    }
+    return apply(talonFX, talonFXConfig);
   }
 }
@@ -2,13 +2,21 @@ package frc.lib.controller;
 
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardLayout;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
+import frc.lib.SampledSignal;
 import frc.lib.Telemetry;
+import frc.lib.TelemetryPublisher;
+import frc.lib.TelemetryPublisher.Priority;
+import java.util.Optional;
 
 /** Position controller interface. */
 public interface PositionControllerIO {
 
   /** Position controller values. */
   public static class PositionControllerIOValues {
+    /** Struct serialization of position controller values. */
+    public static final PositionControllerIOValuesStruct struct =
+        new PositionControllerIOValuesStruct();
+
     /** Position in rotations. */
     public double positionRotations = 0.0;
 
@@ -36,12 +44,27 @@ public interface PositionControllerIO {
       ShuffleboardTab tab, String name, PositionControllerIOValues values) {
     ShuffleboardLayout positionController = Telemetry.addColumn(tab, name);
 
-    positionController.addDouble("Position (rot)", () -> values.positionRotations);
-    positionController.addDouble("Velocity (rps)", () -> values.velocityRotationsPerSecond);
-    positionController.addDouble(
-        "Acceleration (rpsps)", () -> values.accelerationRotationsPerSecondPerSecond);
-    positionController.addDouble("Voltage (V)", () -> values.motorVolts);
-    positionController.addDouble("Current (A)", () -> values.motorAmps);
+    TelemetryPublisher.addDouble(
+            positionController, "Position (rot)", () -> values.positionRotations, Priority.NORMAL)
+        .withDeadband(0.001);
+    TelemetryPublisher.addDouble(
+            positionController,
+            "Velocity (rps)",
+            () -> values.velocityRotationsPerSecond,
+            Priority.NORMAL)
+        .withDeadband(0.01);
+    TelemetryPublisher.addDouble(
+            positionController,
+            "Acceleration (rpsps)",
+            () -> values.accelerationRotationsPerSecondPerSecond,
+            Priority.DEBUG)
+        .withDeadband(0.1);
+    TelemetryPublisher.addDouble(
+            positionController, "Voltage (V)", () -> values.motorVolts, Priority.DEBUG)
+        .withDeadband(0.05);
+    TelemetryPublisher.addDouble(
+            positionController, "Current (A)", () -> values.motorAmps, Priority.DEBUG)
+        .withDeadband(0.1);
   }
 
   /**
@@ -72,4 +95,23 @@ public interface PositionControllerIO {
    * @param velocityRotationsPerSecond
    */
   public void setSetpoint(double positionRotations, double velocityRotationsPerSecond);
+
+  /**
+   * Returns true if the position controller generates its own motion profile. If so, setpoints
+   * should be the goal position rather than a point along a profile.
+   *
+   * @return true if the position controller generates its own motion profile.
+   */
+  public default boolean isProfiledOnboard() {
+    return false;
+  }
+
+  /**
+   * Returns the position signal for high frequency sampling, if supported.
+   *
+   * @return the position signal for high frequency sampling, if supported.
+   */
+  public default Optional<SampledSignal> getSampledPosition() {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,42 @@
+package frc.lib.controller;
+
+import frc.lib.replay.ReplayLog;
+
+/** Position controller which replays recorded values. */
+public class PositionControllerIOReplay implements PositionControllerIO {
+
+  /** Name of the recorded position controller. */
+  private final String name;
+
+  /**
+   * Creates a new replayed position controller.
+   *
+   * @param name the name of the recorded position controller.
+   */
+  public PositionControllerIOReplay(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public void configure() {}
+
+  @Override
+  public void update(PositionControllerIOValues values) {
+    ReplayLog.read(name, PositionControllerIOValues.struct)
+        .ifPresent(
+            recorded -> {
+              values.positionRotations = recorded.positionRotations;
+              values.velocityRotationsPerSecond = recorded.velocityRotationsPerSecond;
+              values.accelerationRotationsPerSecondPerSecond =
+                  recorded.accelerationRotationsPerSecondPerSecond;
+              values.motorVolts = recorded.motorVolts;
+              values.motorAmps = recorded.motorAmps;
+            });
+  }
+
+  @Override
+  public void setPosition(double positionRotations) {}
+
+  @Override
+  public void setSetpoint(double positionRotations, double velocityRotationsPerSecond) {}
+}
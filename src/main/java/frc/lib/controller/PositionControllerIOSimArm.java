@@ -0,0 +1,118 @@
+package frc.lib.controller;
+
+import edu.wpi.first.math.controller.ArmFeedforward;
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.simulation.SingleJointedArmSim;
+import frc.lib.SimulatedBattery;
+import frc.lib.config.MechanismConfig;
+import frc.robot.RobotConstants;
+
+/** Simulated position controller using single jointed arm physics and external PIDF. */
+public class PositionControllerIOSimArm implements PositionControllerIO {
+
+  private final MechanismConfig config;
+
+  private final DCMotor motor;
+
+  private final SingleJointedArmSim armSim;
+
+  private final ArmFeedforward feedforward;
+
+  private final PIDController feedback;
+
+  private double previousVelocityRotationsPerSecond = 0.0;
+
+  private double motorVolts = 0.0;
+
+  private double motorAmps = 0.0;
+
+  /**
+   * Creates a new simulated position controller using single jointed arm physics and external
+   * PIDF.
+   *
+   * @param config
+   * @param motor
+   * @param armLengthMeters
+   * @param armMassKg
+   * @param minimumPositionRotations
+   * @param maximumPositionRotations
+   */
+  public PositionControllerIOSimArm(
+      MechanismConfig config,
+      DCMotor motor,
+      double armLengthMeters,
+      double armMassKg,
+      double minimumPositionRotations,
+      double maximumPositionRotations) {
+    this.config = config;
+    this.motor = motor;
+
+    armSim =
+        new SingleJointedArmSim(
+            motor,
+            config.motorConfig().motorToMechanismRatio(),
+            SingleJointedArmSim.estimateMOI(armLengthMeters, armMassKg),
+            armLengthMeters,
+            Units.rotationsToRadians(minimumPositionRotations),
+            Units.rotationsToRadians(maximumPositionRotations),
+            true,
+            Units.rotationsToRadians(minimumPositionRotations));
+
+    feedforward = config.feedforwardControllerConfig().createArmFeedforward();
+
+    feedback = config.feedbackControllerConfig().createPIDController();
+
+    SimulatedBattery.addCurrent(() -> SimulatedBattery.getSupplyCurrent(motorAmps, motorVolts));
+  }
+
+  @Override
+  public void configure() {}
+
+  @Override
+  public void update(PositionControllerIOValues values) {
+    armSim.setInputVoltage(motorVolts);
+    armSim.update(RobotConstants.PERIODIC_DURATION);
+
+    double velocityRotationsPerSecond = Units.radiansToRotations(armSim.getVelocityRadPerSec());
+
+    motorAmps = armSim.getCurrentDrawAmps();
+
+    values.positionRotations = Units.radiansToRotations(armSim.getAngleRads());
+    values.velocityRotationsPerSecond = velocityRotationsPerSecond;
+    values.accelerationRotationsPerSecondPerSecond =
+        (velocityRotationsPerSecond - previousVelocityRotationsPerSecond)
+            / RobotConstants.PERIODIC_DURATION;
+    values.motorVolts = motorVolts;
+    values.motorAmps = motorAmps;
+
+    previousVelocityRotationsPerSecond = velocityRotationsPerSecond;
+  }
+
+  @Override
+  public void setPosition(double positionRotations) {
+    armSim.setState(Units.rotationsToRadians(positionRotations), 0.0);
+  }
+
+  @Override
+  public void setSetpoint(double positionRotations, double velocityRotationsPerSecond) {
+    double measuredPositionRotations = Units.radiansToRotations(armSim.getAngleRads());
+
+    double feedforwardVolts =
+        feedforward.calculate(
+            Units.rotationsToRadians(measuredPositionRotations), velocityRotationsPerSecond);
+
+    double feedbackVolts = feedback.calculate(measuredPositionRotations, positionRotations);
+
+    double motorRadiansPerSecond =
+        armSim.getVelocityRadPerSec() * config.motorConfig().motorToMechanismRatio();
+
+    motorVolts =
+        SimulatedBattery.limitVoltage(
+            motor,
+            motorRadiansPerSecond,
+            feedforwardVolts + feedbackVolts,
+            config.motorConfig().statorCurrentLimit());
+  }
+}
@@ -11,6 +11,7 @@ import edu.wpi.first.math.controller.ArmFeedforward;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.util.Units;
 import frc.lib.CAN;
+import frc.lib.SignalRegistry;
 import frc.lib.config.MechanismConfig;
 import frc.lib.config.applier.CANcoderConfigApplier;
 import frc.lib.config.applier.TalonFXConfigApplier;
@@ -80,20 +81,15 @@ public class PositionControllerIOTalonFX2 implements PositionControllerIO {
 
     ParentDevice.optimizeBusUtilizationForAll(leaderMotor, followerMotor, encoder);
 
-    TalonFXConfigApplier.applyFactoryDefault(leaderMotor);
-    TalonFXConfigApplier.apply(leaderMotor, config.motorConfig());
+    SignalRegistry.register(leaderMotor, position, velocity, acceleration, volts, amps);
 
-    TalonFXConfigApplier.applyFactoryDefault(followerMotor);
+    TalonFXConfigApplier.apply(leaderMotor, config.motorConfig());
     TalonFXConfigApplier.apply(followerMotor, config.motorConfig());
-
-    CANcoderConfigApplier.applyFactoryDefault(encoder);
     CANcoderConfigApplier.apply(encoder, config.absoluteEncoderConfig());
   }
 
   @Override
   public void update(PositionControllerIOValues values) {
-    BaseStatusSignal.refreshAll(position, velocity, acceleration, volts, amps);
-
     values.positionRotations = position.getValue();
     values.velocityRotationsPerSecond = velocity.getValue();
     values.accelerationRotationsPerSecondPerSecond = acceleration.getValue();
@@ -0,0 +1,108 @@
+package frc.lib.controller;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.controls.Follower;
+import com.ctre.phoenix6.controls.MotionMagicVoltage;
+import com.ctre.phoenix6.hardware.CANcoder;
+import com.ctre.phoenix6.hardware.ParentDevice;
+import com.ctre.phoenix6.hardware.TalonFX;
+import frc.lib.CAN;
+import frc.lib.SignalRegistry;
+import frc.lib.config.MechanismConfig;
+import frc.lib.config.applier.CANcoderConfigApplier;
+import frc.lib.config.applier.TalonFXConfigApplier;
+
+/**
+ * Position controller using two TalonFXs and a CANcoder and onboard motion magic for an arm. The
+ * leader reads the CANcoder as a remote sensor, and generates the motion profile and runs the
+ * feedforward and feedback at 1 kHz. The follower mirrors the leader.
+ */
+public class PositionControllerIOTalonFXMotionMagic implements PositionControllerIO {
+
+  private final MechanismConfig config;
+
+  private final TalonFX leaderMotor, followerMotor;
+
+  private final CANcoder encoder;
+
+  private final StatusSignal<Double> position, velocity, acceleration, volts, amps;
+
+  private final MotionMagicVoltage motionMagic;
+
+  /**
+   * Creates a new position controller using two TalonFXs and a CANcoder and onboard motion magic
+   * for an arm.
+   *
+   * @param leaderCAN
+   * @param followerCAN
+   * @param encoderCAN
+   * @param config
+   * @param enableFOC
+   * @param invertFollower
+   */
+  public PositionControllerIOTalonFXMotionMagic(
+      CAN leaderCAN,
+      CAN followerCAN,
+      CAN encoderCAN,
+      MechanismConfig config,
+      boolean enableFOC,
+      boolean invertFollower) {
+    this.config = config;
+
+    leaderMotor = new TalonFX(leaderCAN.id(), leaderCAN.bus());
+    followerMotor = new TalonFX(followerCAN.id(), followerCAN.bus());
+
+    encoder = new CANcoder(encoderCAN.id(), encoderCAN.bus());
+
+    // Read from the CANcoder, so the position is absolute
+    position = leaderMotor.getPosition();
+    velocity = leaderMotor.getVelocity();
+    acceleration = leaderMotor.getAcceleration();
+
+    volts = leaderMotor.getMotorVoltage();
+    amps = leaderMotor.getStatorCurrent();
+
+    followerMotor.setControl(new Follower(leaderMotor.getDeviceID(), invertFollower));
+
+    motionMagic = new MotionMagicVoltage(0.0).withSlot(0).withEnableFOC(enableFOC);
+  }
+
+  @Override
+  public void configure() {
+    BaseStatusSignal.setUpdateFrequencyForAll(100.0, position, velocity, acceleration, volts, amps);
+
+    ParentDevice.optimizeBusUtilizationForAll(leaderMotor, followerMotor, encoder);
+
+    SignalRegistry.register(leaderMotor, position, velocity, acceleration, volts, amps);
+
+    TalonFXConfigApplier.applyMotionMagicArm(leaderMotor, config, encoder.getDeviceID());
+    TalonFXConfigApplier.apply(followerMotor, config.motorConfig());
+    CANcoderConfigApplier.apply(encoder, config.absoluteEncoderConfig());
+  }
+
+  @Override
+  public void update(PositionControllerIOValues values) {
+    values.positionRotations = position.getValue();
+    values.velocityRotationsPerSecond = velocity.getValue();
+    values.accelerationRotationsPerSecondPerSecond = acceleration.getValue();
+    values.motorVolts = volts.getValue();
+    values.motorAmps = amps.getValue();
+  }
+
+  @Override
+  public void setPosition(double positionRotations) {
+    // Position is absolute, since it is read from the CANcoder
+  }
+
+  @Override
+  public void setSetpoint(double positionRotations, double velocityRotationsPerSecond) {
+    // Velocity is ignored, since the motion profile is generated onboard
+    leaderMotor.setControl(motionMagic.withPosition(positionRotations));
+  }
+
+  @Override
+  public boolean isProfiledOnboard() {
+    return true;
+  }
+}
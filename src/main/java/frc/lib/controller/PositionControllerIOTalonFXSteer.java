@@ -9,9 +9,12 @@ import com.ctre.phoenix6.hardware.TalonFX;
 import edu.wpi.first.math.controller.PIDController;
 import edu.wpi.first.math.controller.SimpleMotorFeedforward;
 import frc.lib.CAN;
+import frc.lib.SampledSignal;
+import frc.lib.SignalRegistry;
 import frc.lib.config.MechanismConfig;
 import frc.lib.config.applier.CANcoderConfigApplier;
 import frc.lib.config.applier.TalonFXConfigApplier;
+import java.util.Optional;
 
 /** Creates a new position controller using a steer TalonFX and azimuth CANcoder. */
 public class PositionControllerIOTalonFXSteer implements PositionControllerIO {
@@ -60,17 +63,14 @@ public class PositionControllerIOTalonFXSteer implements PositionControllerIO {
 
     ParentDevice.optimizeBusUtilizationForAll(steerMotor, azimuthEncoder);
 
-    TalonFXConfigApplier.applyFactoryDefault(steerMotor);
-    TalonFXConfigApplier.apply(steerMotor, config.motorConfig());
+    SignalRegistry.register(steerMotor, position, velocity, acceleration, volts, amps);
 
-    CANcoderConfigApplier.applyFactoryDefault(azimuthEncoder);
+    TalonFXConfigApplier.apply(steerMotor, config.motorConfig());
     CANcoderConfigApplier.apply(azimuthEncoder, config.absoluteEncoderConfig());
   }
 
   @Override
   public void update(PositionControllerIOValues values) {
-    BaseStatusSignal.refreshAll(position, velocity, acceleration, volts, amps);
-
     values.positionRotations = position.getValue();
     values.velocityRotationsPerSecond = velocity.getValue();
     values.accelerationRotationsPerSecondPerSecond = acceleration.getValue();
@@ -81,6 +81,12 @@ public class PositionControllerIOTalonFXSteer implements PositionControllerIO {
   @Override
   public void setPosition(double positionRotations) {}
 
+  @Override
+  public Optional<SampledSignal> getSampledPosition() {
+    // Sampled from another thread, so use independent copies of the signals
+    return Optional.of(new SampledSignal(position.clone(), velocity.clone()));
+  }
+
   @Override
   public void setSetpoint(double positionRotations, double velocityRotationsPerSecond) {
     double measuredPositionRotations = position.getValue();
@@ -0,0 +1,55 @@
+package frc.lib.controller;
+
+import edu.wpi.first.util.struct.Struct;
+import frc.lib.controller.PositionControllerIO.PositionControllerIOValues;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link PositionControllerIOValues}. */
+public class PositionControllerIOValuesStruct implements Struct<PositionControllerIOValues> {
+
+  @Override
+  public Class<PositionControllerIOValues> getTypeClass() {
+    return PositionControllerIOValues.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:PositionControllerIOValues";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeDouble * 5;
+  }
+
+  @Override
+  public String getSchema() {
+    return "double positionRotations;"
+        + "double velocityRotationsPerSecond;"
+        + "double accelerationRotationsPerSecondPerSecond;"
+        + "double motorVolts;"
+        + "double motorAmps";
+  }
+
+  @Override
+  public PositionControllerIOValues unpack(ByteBuffer bb) {
+    PositionControllerIOValues values = new PositionControllerIOValues();
+
+    values.positionRotations = bb.getDouble();
+    values.velocityRotationsPerSecond = bb.getDouble();
+    values.accelerationRotationsPerSecondPerSecond = bb.getDouble();
+    values.motorVolts = bb.getDouble();
+    values.motorAmps = bb.getDouble();
+
+    return values;
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, PositionControllerIOValues values) {
+    bb.putDouble(values.positionRotations);
+    bb.putDouble(values.velocityRotationsPerSecond);
+    bb.putDouble(values.accelerationRotationsPerSecondPerSecond);
+    bb.putDouble(values.motorVolts);
+    bb.putDouble(values.motorAmps);
+  }
+}
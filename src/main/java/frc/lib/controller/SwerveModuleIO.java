@@ -2,14 +2,35 @@ package frc.lib.controller;
 
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.lib.SampledSignal;
+import frc.lib.controller.PositionControllerIO.PositionControllerIOValues;
+import frc.lib.controller.VelocityControllerIO.VelocityControllerIOValues;
+import java.util.Optional;
 
 /** Swerve module interface. */
 public interface SwerveModuleIO {
 
+  /** Samples the swerve module. Should be called once per loop, before reading the module. */
+  public void sample();
+
+  /**
+   * Returns the timestamp of the latest sample in seconds.
+   *
+   * @return the timestamp of the latest sample in seconds.
+   */
+  public double getSampleTimestamp();
+
   /**
-   * Returns the swerve module state.
+   * Returns the number of times the swerve module has been sampled.
    *
-   * @return the swerve module state.
+   * @return the number of times the swerve module has been sampled.
+   */
+  public long getSampleCount();
+
+  /**
+   * Returns the swerve module state as of the latest sample.
+   *
+   * @return the swerve module state as of the latest sample.
    */
   public SwerveModuleState getState();
 
@@ -21,7 +42,7 @@ public interface SwerveModuleIO {
   public SwerveModuleState getSetpoint();
 
   /**
-   * Sets the swerve module setpoint.
+   * Sets the swerve module setpoint. The setpoint is copied, so it may be reused by the caller.
    *
    * @param setpoint the swerve module setpoint.
    * @param lazy if true, optimize the swerve module setpoint.
@@ -29,9 +50,55 @@ public interface SwerveModuleIO {
   public void setSetpoint(SwerveModuleState setpoint, boolean lazy);
 
   /**
-   * Returns the swerve module position.
+   * Returns the swerve module position as of the latest sample.
    *
-   * @return the swerve module position.
+   * @return the swerve module position as of the latest sample.
    */
   public SwerveModulePosition getPosition();
+
+  /**
+   * Returns the steer motor values as of the latest sample, if the module has a steer motor.
+   *
+   * @return the steer motor values as of the latest sample, if the module has a steer motor.
+   */
+  public default Optional<PositionControllerIOValues> getSteerMotorValues() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the drive motor values as of the latest sample, if the module has a drive motor.
+   *
+   * @return the drive motor values as of the latest sample, if the module has a drive motor.
+   */
+  public default Optional<VelocityControllerIOValues> getDriveMotorValues() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the drive position signal in rotations for high frequency sampling, if supported.
+   *
+   * @return the drive position signal in rotations for high frequency sampling, if supported.
+   */
+  public default Optional<SampledSignal> getSampledDrivePosition() {
+    return Optional.empty();
+  }
+
+  /**
+   * Returns the steer position signal in rotations for high frequency sampling, if supported.
+   *
+   * @return the steer position signal in rotations for high frequency sampling, if supported.
+   */
+  public default Optional<SampledSignal> getSampledSteerPosition() {
+    return Optional.empty();
+  }
+
+  /**
+   * Converts sampled drive and steer positions to a swerve module position.
+   *
+   * @param driveRotations the sampled drive position in rotations.
+   * @param steerRotations the sampled steer position in rotations.
+   * @param position the swerve module position to write into.
+   */
+  public void toPosition(
+      double driveRotations, double steerRotations, SwerveModulePosition position);
 }
@@ -1,10 +1,15 @@
 package frc.lib.controller;
 
-import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.MathSharedStore;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.util.Units;
+import frc.lib.InPlaceSwerveKinematics;
+import frc.lib.RotationTable;
+import frc.lib.SampledSignal;
 import frc.lib.controller.PositionControllerIO.PositionControllerIOValues;
 import frc.lib.controller.VelocityControllerIO.VelocityControllerIOValues;
+import java.util.Optional;
 
 /** Custom swerve module. */
 public class SwerveModuleIOCustom implements SwerveModuleIO {
@@ -25,7 +30,19 @@ public class SwerveModuleIOCustom implements SwerveModuleIO {
   private final double wheelCircumference;
 
   /** Module setpoint */
-  private SwerveModuleState setpoint;
+  private final SwerveModuleState setpoint;
+
+  /** Module state as of the latest sample. */
+  private final SwerveModuleState state;
+
+  /** Module position as of the latest sample. */
+  private final SwerveModulePosition position;
+
+  /** Timestamp of the latest sample in seconds. */
+  private double sampleTimestampSeconds;
+
+  /** Number of times the module has been sampled. */
+  private long sampleCount = 0;
 
   public SwerveModuleIOCustom(
       PositionControllerIO steerMotor, VelocityControllerIO driveMotor, double wheelCircumference) {
@@ -38,16 +55,44 @@ public class SwerveModuleIOCustom implements SwerveModuleIO {
     this.wheelCircumference = wheelCircumference;
 
     setpoint = new SwerveModuleState();
+    state = new SwerveModuleState();
+    position = new SwerveModulePosition();
+
+    // Sample so that the module can be read before the first loop
+    sample();
   }
 
   @Override
-  public SwerveModuleState getState() {
+  public void sample() {
     steerMotor.update(steerMotorValues);
     driveMotor.update(driveMotorValues);
 
-    return new SwerveModuleState(
-        driveMotorValues.velocityRotationsPerSecond * wheelCircumference,
-        Rotation2d.fromRotations(steerMotorValues.positionRotations));
+    state.speedMetersPerSecond = driveMotorValues.velocityRotationsPerSecond * wheelCircumference;
+    state.angle =
+        InPlaceSwerveKinematics.reuseRotation(
+            state.angle, Units.rotationsToRadians(steerMotorValues.positionRotations));
+
+    position.distanceMeters = driveMotorValues.positionRotations * wheelCircumference;
+    position.angle = state.angle;
+
+    // Uses the same time source as the pose estimator
+    sampleTimestampSeconds = MathSharedStore.getTimestamp();
+    sampleCount++;
+  }
+
+  @Override
+  public double getSampleTimestamp() {
+    return sampleTimestampSeconds;
+  }
+
+  @Override
+  public long getSampleCount() {
+    return sampleCount;
+  }
+
+  @Override
+  public SwerveModuleState getState() {
+    return state;
   }
 
   @Override
@@ -57,12 +102,10 @@ public class SwerveModuleIOCustom implements SwerveModuleIO {
 
   @Override
   public void setSetpoint(SwerveModuleState setpoint, boolean lazy) {
-    setpoint = optimize(setpoint, getState(), lazy);
+    optimize(setpoint, state, lazy, this.setpoint);
 
-    steerMotor.setSetpoint(setpoint.angle.getRotations(), 0);
-    driveMotor.setSetpoint(setpoint.speedMetersPerSecond / wheelCircumference);
-
-    this.setpoint = setpoint;
+    steerMotor.setSetpoint(this.setpoint.angle.getRotations(), 0);
+    driveMotor.setSetpoint(this.setpoint.speedMetersPerSecond / wheelCircumference);
   }
 
   /**
@@ -71,34 +114,70 @@ public class SwerveModuleIOCustom implements SwerveModuleIO {
    * @param setpoint the setpoint to optimize.
    * @param state the state of the module.
    * @param lazy if true, perform additional optimizations on the setpoint.
-   * @return the optimized setpoint.
+   * @param optimized the optimized setpoint to write into.
    */
-  private SwerveModuleState optimize(
-      SwerveModuleState setpoint, SwerveModuleState state, boolean lazy) {
+  static void optimize(
+      SwerveModuleState setpoint,
+      SwerveModuleState state,
+      boolean lazy,
+      SwerveModuleState optimized) {
+    // Cosine of the error between the setpoint and the state
+    double errorCos =
+        setpoint.angle.getCos() * state.angle.getCos()
+            + setpoint.angle.getSin() * state.angle.getSin();
+
     // Always perform this optimization, even when lazy
-    setpoint = SwerveModuleState.optimize(setpoint, state.angle);
+    if (errorCos < 0.0) {
+      // Reverse the module instead of rotating it more than 90 degrees
+      optimized.speedMetersPerSecond = -setpoint.speedMetersPerSecond;
+      optimized.angle = RotationTable.get(-setpoint.angle.getCos(), -setpoint.angle.getSin());
+    } else {
+      optimized.speedMetersPerSecond = setpoint.speedMetersPerSecond;
+      optimized.angle = setpoint.angle;
+    }
 
     // If we aren't lazy, don't perform additional optimizations
     if (!lazy) {
-      return setpoint;
+      return;
     }
 
     // Since we are lazy, perform additional optimizations
 
     // Scale our speed by the module's error
-    Rotation2d error = setpoint.angle.minus(state.angle);
-    setpoint.speedMetersPerSecond *= error.getCos();
-
-    return setpoint;
+    optimized.speedMetersPerSecond *= Math.abs(errorCos);
   }
 
   @Override
   public SwerveModulePosition getPosition() {
-    steerMotor.update(steerMotorValues);
-    driveMotor.update(driveMotorValues);
+    return position;
+  }
 
-    return new SwerveModulePosition(
-        driveMotorValues.positionRotations * wheelCircumference,
-        Rotation2d.fromRotations(steerMotorValues.positionRotations));
+  @Override
+  public Optional<PositionControllerIOValues> getSteerMotorValues() {
+    return Optional.of(steerMotorValues);
+  }
+
+  @Override
+  public Optional<VelocityControllerIOValues> getDriveMotorValues() {
+    return Optional.of(driveMotorValues);
+  }
+
+  @Override
+  public Optional<SampledSignal> getSampledDrivePosition() {
+    return driveMotor.getSampledPosition();
+  }
+
+  @Override
+  public Optional<SampledSignal> getSampledSteerPosition() {
+    return steerMotor.getSampledPosition();
+  }
+
+  @Override
+  public void toPosition(
+      double driveRotations, double steerRotations, SwerveModulePosition position) {
+    position.distanceMeters = driveRotations * wheelCircumference;
+    position.angle =
+        InPlaceSwerveKinematics.reuseRotation(
+            position.angle, Units.rotationsToRadians(steerRotations));
   }
 }
@@ -0,0 +1,95 @@
+package frc.lib.controller;
+
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.util.Units;
+import frc.lib.InPlaceSwerveKinematics;
+import frc.lib.replay.ReplayLog;
+
+/** Swerve module which replays recorded states and positions. */
+public class SwerveModuleIOReplay implements SwerveModuleIO {
+
+  /** Name of the recorded module state. */
+  private final String stateName;
+
+  /** Name of the recorded module position. */
+  private final String positionName;
+
+  /** Wheel circumference. */
+  private final double wheelCircumference;
+
+  /** Module setpoint */
+  private final SwerveModuleState setpoint = new SwerveModuleState();
+
+  /** Module state as of the latest sample. */
+  private SwerveModuleState state = new SwerveModuleState();
+
+  /** Module position as of the latest sample. */
+  private SwerveModulePosition position = new SwerveModulePosition();
+
+  /** Timestamp of the latest sample in seconds. */
+  private double sampleTimestampSeconds;
+
+  /** Number of times the module has been sampled. */
+  private long sampleCount = 0;
+
+  /**
+   * Creates a new replayed swerve module.
+   *
+   * @param name the name of the recorded swerve module.
+   * @param wheelCircumference the wheel circumference.
+   */
+  public SwerveModuleIOReplay(String name, double wheelCircumference) {
+    this.stateName = name + "/State";
+    this.positionName = name + "/Position";
+    this.wheelCircumference = wheelCircumference;
+  }
+
+  @Override
+  public void sample() {
+    state = ReplayLog.read(stateName, SwerveModuleState.struct).orElse(state);
+    position = ReplayLog.read(positionName, SwerveModulePosition.struct).orElse(position);
+
+    sampleTimestampSeconds = ReplayLog.getTimestamp();
+    sampleCount++;
+  }
+
+  @Override
+  public double getSampleTimestamp() {
+    return sampleTimestampSeconds;
+  }
+
+  @Override
+  public long getSampleCount() {
+    return sampleCount;
+  }
+
+  @Override
+  public SwerveModuleState getState() {
+    return state;
+  }
+
+  @Override
+  public SwerveModuleState getSetpoint() {
+    return setpoint;
+  }
+
+  @Override
+  public void setSetpoint(SwerveModuleState setpoint, boolean lazy) {
+    SwerveModuleIOCustom.optimize(setpoint, state, lazy, this.setpoint);
+  }
+
+  @Override
+  public SwerveModulePosition getPosition() {
+    return position;
+  }
+
+  @Override
+  public void toPosition(
+      double driveRotations, double steerRotations, SwerveModulePosition position) {
+    position.distanceMeters = driveRotations * wheelCircumference;
+    position.angle =
+        InPlaceSwerveKinematics.reuseRotation(
+            position.angle, Units.rotationsToRadians(steerRotations));
+  }
+}
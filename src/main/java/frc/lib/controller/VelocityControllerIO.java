@@ -2,13 +2,21 @@ package frc.lib.controller;
 
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardLayout;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
+import frc.lib.SampledSignal;
 import frc.lib.Telemetry;
+import frc.lib.TelemetryPublisher;
+import frc.lib.TelemetryPublisher.Priority;
+import java.util.Optional;
 
 /** Velocity controller interface. */
 public interface VelocityControllerIO {
 
   /** Velocity controller values. */
   public static class VelocityControllerIOValues {
+    /** Struct serialization of velocity controller values. */
+    public static final VelocityControllerIOValuesStruct struct =
+        new VelocityControllerIOValuesStruct();
+
     /** Position in rotations. */
     public double positionRotations = 0.0;
 
@@ -36,12 +44,27 @@ public interface VelocityControllerIO {
       ShuffleboardTab tab, String name, VelocityControllerIOValues values) {
     ShuffleboardLayout velocityController = Telemetry.addColumn(tab, name);
 
-    velocityController.addDouble("Position (rot)", () -> values.positionRotations);
-    velocityController.addDouble("Velocity (rps)", () -> values.velocityRotationsPerSecond);
-    velocityController.addDouble(
-        "Acceleration (rpsps)", () -> values.accelerationRotationsPerSecondPerSecond);
-    velocityController.addDouble("Voltage (V)", () -> values.motorVolts);
-    velocityController.addDouble("Current (A)", () -> values.motorAmps);
+    TelemetryPublisher.addDouble(
+            velocityController, "Position (rot)", () -> values.positionRotations, Priority.NORMAL)
+        .withDeadband(0.001);
+    TelemetryPublisher.addDouble(
+            velocityController,
+            "Velocity (rps)",
+            () -> values.velocityRotationsPerSecond,
+            Priority.NORMAL)
+        .withDeadband(0.01);
+    TelemetryPublisher.addDouble(
+            velocityController,
+            "Acceleration (rpsps)",
+            () -> values.accelerationRotationsPerSecondPerSecond,
+            Priority.DEBUG)
+        .withDeadband(0.1);
+    TelemetryPublisher.addDouble(
+            velocityController, "Voltage (V)", () -> values.motorVolts, Priority.DEBUG)
+        .withDeadband(0.05);
+    TelemetryPublisher.addDouble(
+            velocityController, "Current (A)", () -> values.motorAmps, Priority.DEBUG)
+        .withDeadband(0.1);
   }
 
   /**
@@ -71,4 +94,13 @@ public interface VelocityControllerIO {
    * @param velocityRotationsPerSecond
    */
   public void setSetpoint(double velocityRotationsPerSecond);
+
+  /**
+   * Returns the position signal for high frequency sampling, if supported.
+   *
+   * @return the position signal for high frequency sampling, if supported.
+   */
+  public default Optional<SampledSignal> getSampledPosition() {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,42 @@
+package frc.lib.controller;
+
+import frc.lib.replay.ReplayLog;
+
+/** Velocity controller which replays recorded values. */
+public class VelocityControllerIOReplay implements VelocityControllerIO {
+
+  /** Name of the recorded velocity controller. */
+  private final String name;
+
+  /**
+   * Creates a new replayed velocity controller.
+   *
+   * @param name the name of the recorded velocity controller.
+   */
+  public VelocityControllerIOReplay(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public void configure() {}
+
+  @Override
+  public void update(VelocityControllerIOValues values) {
+    ReplayLog.read(name, VelocityControllerIOValues.struct)
+        .ifPresent(
+            recorded -> {
+              values.positionRotations = recorded.positionRotations;
+              values.velocityRotationsPerSecond = recorded.velocityRotationsPerSecond;
+              values.accelerationRotationsPerSecondPerSecond =
+                  recorded.accelerationRotationsPerSecondPerSecond;
+              values.motorVolts = recorded.motorVolts;
+              values.motorAmps = recorded.motorAmps;
+            });
+  }
+
+  @Override
+  public void setPosition(double positionRotations) {}
+
+  @Override
+  public void setSetpoint(double velocityRotationsPerSecond) {}
+}
@@ -0,0 +1,107 @@
+package frc.lib.controller;
+
+import edu.wpi.first.math.controller.PIDController;
+import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+import frc.lib.SimulatedBattery;
+import frc.lib.config.MechanismConfig;
+import frc.robot.RobotConstants;
+
+/** Simulated velocity controller using flywheel physics and external PIDF. */
+public class VelocityControllerIOSimFlywheel implements VelocityControllerIO {
+
+  private final MechanismConfig config;
+
+  private final DCMotor motor;
+
+  private final FlywheelSim flywheelSim;
+
+  private final SimpleMotorFeedforward feedforward;
+
+  private final PIDController feedback;
+
+  private double positionRotations = 0.0;
+
+  private double previousVelocityRotationsPerSecond = 0.0;
+
+  private double motorVolts = 0.0;
+
+  private double motorAmps = 0.0;
+
+  /**
+   * Creates a new simulated velocity controller using flywheel physics and external PIDF.
+   *
+   * @param config
+   * @param motor
+   * @param momentOfInertiaKgMetersSquared
+   */
+  public VelocityControllerIOSimFlywheel(
+      MechanismConfig config, DCMotor motor, double momentOfInertiaKgMetersSquared) {
+    this.config = config;
+    this.motor = motor;
+
+    flywheelSim =
+        new FlywheelSim(
+            motor, config.motorConfig().motorToMechanismRatio(), momentOfInertiaKgMetersSquared);
+
+    feedforward = config.feedforwardControllerConfig().createSimpleMotorFeedforward();
+
+    feedback = config.feedbackControllerConfig().createPIDController();
+
+    SimulatedBattery.addCurrent(() -> SimulatedBattery.getSupplyCurrent(motorAmps, motorVolts));
+  }
+
+  @Override
+  public void configure() {}
+
+  @Override
+  public void update(VelocityControllerIOValues values) {
+    flywheelSim.setInputVoltage(motorVolts);
+    flywheelSim.update(RobotConstants.PERIODIC_DURATION);
+
+    double velocityRotationsPerSecond =
+        Units.radiansToRotations(flywheelSim.getAngularVelocityRadPerSec());
+
+    positionRotations += velocityRotationsPerSecond * RobotConstants.PERIODIC_DURATION;
+
+    motorAmps = flywheelSim.getCurrentDrawAmps();
+
+    values.positionRotations = positionRotations;
+    values.velocityRotationsPerSecond = velocityRotationsPerSecond;
+    values.accelerationRotationsPerSecondPerSecond =
+        (velocityRotationsPerSecond - previousVelocityRotationsPerSecond)
+            / RobotConstants.PERIODIC_DURATION;
+    values.motorVolts = motorVolts;
+    values.motorAmps = motorAmps;
+
+    previousVelocityRotationsPerSecond = velocityRotationsPerSecond;
+  }
+
+  @Override
+  public void setPosition(double positionRotations) {
+    this.positionRotations = positionRotations;
+  }
+
+  @Override
+  public void setSetpoint(double velocityRotationsPerSecond) {
+    double feedforwardVolts = feedforward.calculate(velocityRotationsPerSecond);
+
+    double measuredVelocityRotationsPerSecond =
+        Units.radiansToRotations(flywheelSim.getAngularVelocityRadPerSec());
+
+    double feedbackVolts =
+        feedback.calculate(measuredVelocityRotationsPerSecond, velocityRotationsPerSecond);
+
+    double motorRadiansPerSecond =
+        flywheelSim.getAngularVelocityRadPerSec() * config.motorConfig().motorToMechanismRatio();
+
+    motorVolts =
+        SimulatedBattery.limitVoltage(
+            motor,
+            motorRadiansPerSecond,
+            feedforwardVolts + feedbackVolts,
+            config.motorConfig().statorCurrentLimit());
+  }
+}
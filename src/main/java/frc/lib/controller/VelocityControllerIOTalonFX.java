@@ -5,8 +5,11 @@ import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.hardware.ParentDevice;
 import com.ctre.phoenix6.hardware.TalonFX;
 import frc.lib.CAN;
+import frc.lib.SampledSignal;
+import frc.lib.SignalRegistry;
 import frc.lib.config.MechanismConfig;
 import frc.lib.config.applier.TalonFXConfigApplier;
+import java.util.Optional;
 
 /** Velocity controller using TalonFX. */
 public abstract class VelocityControllerIOTalonFX implements VelocityControllerIO {
@@ -40,14 +43,18 @@ public abstract class VelocityControllerIOTalonFX implements VelocityControllerI
 
     ParentDevice.optimizeBusUtilizationForAll(motor);
 
-    TalonFXConfigApplier.applyFactoryDefault(motor);
+    SignalRegistry.register(motor, position, velocity, acceleration, volts, amps);
+
+    applyConfig();
+  }
+
+  /** Applies the mechanism config to the TalonFX. */
+  protected void applyConfig() {
     TalonFXConfigApplier.apply(motor, config.motorConfig());
   }
 
   @Override
   public void update(VelocityControllerIOValues values) {
-    BaseStatusSignal.refreshAll(position, velocity, acceleration, volts, amps);
-
     values.positionRotations = position.getValue();
     values.velocityRotationsPerSecond = velocity.getValue();
     values.accelerationRotationsPerSecondPerSecond = acceleration.getValue();
@@ -60,6 +67,12 @@ public abstract class VelocityControllerIOTalonFX implements VelocityControllerI
     motor.setPosition(positionRotations);
   }
 
+  @Override
+  public Optional<SampledSignal> getSampledPosition() {
+    // Sampled from another thread, so use independent copies of the signals
+    return Optional.of(new SampledSignal(position.clone(), velocity.clone()));
+  }
+
   @Override
   public abstract void setSetpoint(double velocityRotationsPerSecond);
 }
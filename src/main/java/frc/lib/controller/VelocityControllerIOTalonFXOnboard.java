@@ -0,0 +1,50 @@
+package frc.lib.controller;
+
+import com.ctre.phoenix6.controls.VelocityVoltage;
+import frc.lib.CAN;
+import frc.lib.config.MechanismConfig;
+import frc.lib.config.applier.TalonFXConfigApplier;
+
+/** Velocity controller using TalonFX and onboard PIDF. */
+public class VelocityControllerIOTalonFXOnboard extends VelocityControllerIOTalonFX {
+
+  private final VelocityVoltage velocityVoltage;
+
+  /**
+   * Creates a new velocity controller using TalonFX and onboard PIDF.
+   *
+   * @param can
+   * @param config
+   * @param enableFOC
+   */
+  public VelocityControllerIOTalonFXOnboard(CAN can, MechanismConfig config, boolean enableFOC) {
+    super(can, config);
+
+    velocityVoltage = new VelocityVoltage(0.0).withSlot(0).withEnableFOC(enableFOC);
+  }
+
+  /**
+   * Creates a new velocity controller using TalonFX and onboard PIDF.
+   *
+   * @param can
+   * @param config
+   */
+  public VelocityControllerIOTalonFXOnboard(CAN can, MechanismConfig config) {
+    this(can, config, false);
+  }
+
+  @Override
+  protected void applyConfig() {
+    // Runs the feedforward and feedback on the TalonFX at 1 kHz instead of once per loop
+    TalonFXConfigApplier.apply(
+        motor,
+        config.motorConfig(),
+        config.feedforwardControllerConfig(),
+        config.feedbackControllerConfig());
+  }
+
+  @Override
+  public void setSetpoint(double velocityRotationsPerSecond) {
+    motor.setControl(velocityVoltage.withVelocity(velocityRotationsPerSecond));
+  }
+}
@@ -0,0 +1,55 @@
+package frc.lib.controller;
+
+import edu.wpi.first.util.struct.Struct;
+import frc.lib.controller.VelocityControllerIO.VelocityControllerIOValues;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link VelocityControllerIOValues}. */
+public class VelocityControllerIOValuesStruct implements Struct<VelocityControllerIOValues> {
+
+  @Override
+  public Class<VelocityControllerIOValues> getTypeClass() {
+    return VelocityControllerIOValues.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:VelocityControllerIOValues";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeDouble * 5;
+  }
+
+  @Override
+  public String getSchema() {
+    return "double positionRotations;"
+        + "double velocityRotationsPerSecond;"
+        + "double accelerationRotationsPerSecondPerSecond;"
+        + "double motorVolts;"
+        + "double motorAmps";
+  }
+
+  @Override
+  public VelocityControllerIOValues unpack(ByteBuffer bb) {
+    VelocityControllerIOValues values = new VelocityControllerIOValues();
+
+    values.positionRotations = bb.getDouble();
+    values.velocityRotationsPerSecond = bb.getDouble();
+    values.accelerationRotationsPerSecondPerSecond = bb.getDouble();
+    values.motorVolts = bb.getDouble();
+    values.motorAmps = bb.getDouble();
+
+    return values;
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, VelocityControllerIOValues values) {
+    bb.putDouble(values.positionRotations);
+    bb.putDouble(values.velocityRotationsPerSecond);
+    bb.putDouble(values.accelerationRotationsPerSecondPerSecond);
+    bb.putDouble(values.motorVolts);
+    bb.putDouble(values.motorAmps);
+  }
+}
@@ -0,0 +1,135 @@
+package frc.lib.replay;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+
+/**
+ * Records the driver station and joystick values each loop, and feeds them back into the simulated
+ * driver station during replay.
+ */
+public class DriverStationReplay {
+
+  /** Name of the recorded driver station values. */
+  private static final String DRIVER_STATION_NAME = "DriverStation";
+
+  /** Prefix of the names of the recorded joystick values. */
+  private static final String JOYSTICK_PREFIX = "DriverStation/Joystick ";
+
+  /** Driver station values. Reused between loops. */
+  private static final DriverStationValues driverStationValues = new DriverStationValues();
+
+  /** Values of each joystick. Reused between loops. */
+  private static final JoystickValues[] joystickValues =
+      new JoystickValues[DriverStation.kJoystickPorts];
+
+  /** Adds the driver station and joystick values to the replay log's inputs. */
+  public static void addInputs() {
+    ReplayLog.addInput(
+        DRIVER_STATION_NAME,
+        DriverStationValues.struct,
+        () -> updateDriverStation(driverStationValues));
+
+    for (int port = 0; port < DriverStation.kJoystickPorts; port++) {
+      final int joystickPort = port;
+
+      joystickValues[port] = new JoystickValues();
+
+      ReplayLog.addInput(
+          JOYSTICK_PREFIX + port,
+          JoystickValues.struct,
+          () -> updateJoystick(joystickPort, joystickValues[joystickPort]));
+    }
+  }
+
+  /**
+   * Updates driver station values from the driver station.
+   *
+   * @param values the driver station values to update.
+   * @return the updated driver station values.
+   */
+  private static DriverStationValues updateDriverStation(DriverStationValues values) {
+    values.allianceStation = DriverStation.getRawAllianceStation().ordinal();
+    values.matchTimeSeconds = DriverStation.getMatchTime();
+    values.dsAttached = DriverStation.isDSAttached();
+    values.fmsAttached = DriverStation.isFMSAttached();
+    values.eStopped = DriverStation.isEStopped();
+    values.test = DriverStation.isTest();
+
+    return values;
+  }
+
+  /**
+   * Updates joystick values from the driver station.
+   *
+   * @param port the port of the joystick.
+   * @param values the joystick values to update.
+   * @return the updated joystick values.
+   */
+  private static JoystickValues updateJoystick(int port, JoystickValues values) {
+    values.axisCount = Math.min(DriverStation.getStickAxisCount(port), JoystickValues.MAXIMUM_AXES);
+
+    for (int axis = 0; axis < values.axisCount; axis++) {
+      values.axes[axis] = DriverStation.getStickAxis(port, axis);
+    }
+
+    values.buttonCount = DriverStation.getStickButtonCount(port);
+    values.buttons = DriverStation.getStickButtons(port);
+
+    values.povCount = Math.min(DriverStation.getStickPOVCount(port), JoystickValues.MAXIMUM_POVS);
+
+    for (int pov = 0; pov < values.povCount; pov++) {
+      values.povs[pov] = DriverStation.getStickPOV(port, pov);
+    }
+
+    return values;
+  }
+
+  /**
+   * Feeds the driver station and joystick values of the current replayed frame into the simulated
+   * driver station. The simulated driver station must be notified of the new data afterwards.
+   */
+  public static void replay() {
+    ReplayLog.read(DRIVER_STATION_NAME, DriverStationValues.struct)
+        .ifPresent(
+            values -> {
+              DriverStationSim.setAllianceStationId(
+                  AllianceStationID.values()[values.allianceStation]);
+              DriverStationSim.setMatchTime(values.matchTimeSeconds);
+              DriverStationSim.setDsAttached(values.dsAttached);
+              DriverStationSim.setFmsAttached(values.fmsAttached);
+              DriverStationSim.setEStop(values.eStopped);
+              DriverStationSim.setTest(values.test);
+            });
+
+    for (int port = 0; port < DriverStation.kJoystickPorts; port++) {
+      final int joystickPort = port;
+
+      ReplayLog.read(JOYSTICK_PREFIX + port, JoystickValues.struct)
+          .ifPresent(values -> replayJoystick(joystickPort, values));
+    }
+  }
+
+  /**
+   * Feeds recorded joystick values into the simulated driver station.
+   *
+   * @param port the port of the joystick.
+   * @param values the recorded joystick values.
+   */
+  private static void replayJoystick(int port, JoystickValues values) {
+    DriverStationSim.setJoystickAxisCount(port, values.axisCount);
+
+    for (int axis = 0; axis < values.axisCount; axis++) {
+      DriverStationSim.setJoystickAxis(port, axis, values.axes[axis]);
+    }
+
+    DriverStationSim.setJoystickButtonCount(port, values.buttonCount);
+    DriverStationSim.setJoystickButtons(port, values.buttons);
+
+    DriverStationSim.setJoystickPOVCount(port, values.povCount);
+
+    for (int pov = 0; pov < values.povCount; pov++) {
+      DriverStationSim.setJoystickPOV(port, pov, values.povs[pov]);
+    }
+  }
+}
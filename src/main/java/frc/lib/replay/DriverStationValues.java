@@ -0,0 +1,25 @@
+package frc.lib.replay;
+
+/** Driver station values which are not part of each replay frame's header. */
+public class DriverStationValues {
+  /** Struct serialization of driver station values. */
+  public static final DriverStationValuesStruct struct = new DriverStationValuesStruct();
+
+  /** Ordinal of the alliance station. */
+  public int allianceStation = 0;
+
+  /** Match time in seconds. */
+  public double matchTimeSeconds = 0.0;
+
+  /** True if the driver station is attached. */
+  public boolean dsAttached = false;
+
+  /** True if the FMS is attached. */
+  public boolean fmsAttached = false;
+
+  /** True if the robot is emergency stopped. */
+  public boolean eStopped = false;
+
+  /** True if the robot is in test mode. */
+  public boolean test = false;
+}
@@ -0,0 +1,57 @@
+package frc.lib.replay;
+
+import edu.wpi.first.util.struct.Struct;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link DriverStationValues}. */
+public class DriverStationValuesStruct implements Struct<DriverStationValues> {
+
+  @Override
+  public Class<DriverStationValues> getTypeClass() {
+    return DriverStationValues.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:DriverStationValues";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeInt32 + kSizeDouble + kSizeBool * 4;
+  }
+
+  @Override
+  public String getSchema() {
+    return "int32 allianceStation;"
+        + "double matchTimeSeconds;"
+        + "bool dsAttached;"
+        + "bool fmsAttached;"
+        + "bool eStopped;"
+        + "bool test";
+  }
+
+  @Override
+  public DriverStationValues unpack(ByteBuffer bb) {
+    DriverStationValues values = new DriverStationValues();
+
+    values.allianceStation = bb.getInt();
+    values.matchTimeSeconds = bb.getDouble();
+    values.dsAttached = bb.get() != 0;
+    values.fmsAttached = bb.get() != 0;
+    values.eStopped = bb.get() != 0;
+    values.test = bb.get() != 0;
+
+    return values;
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, DriverStationValues values) {
+    bb.putInt(values.allianceStation);
+    bb.putDouble(values.matchTimeSeconds);
+    bb.put((byte) (values.dsAttached ? 1 : 0));
+    bb.put((byte) (values.fmsAttached ? 1 : 0));
+    bb.put((byte) (values.eStopped ? 1 : 0));
+    bb.put((byte) (values.test ? 1 : 0));
+  }
+}
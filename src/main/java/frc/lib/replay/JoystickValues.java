@@ -0,0 +1,31 @@
+package frc.lib.replay;
+
+/** Values of a joystick connected to the driver station. */
+public class JoystickValues {
+  /** Struct serialization of joystick values. */
+  public static final JoystickValuesStruct struct = new JoystickValuesStruct();
+
+  /** Maximum number of axes of a joystick. */
+  public static final int MAXIMUM_AXES = 12;
+
+  /** Maximum number of POVs of a joystick. */
+  public static final int MAXIMUM_POVS = 12;
+
+  /** Number of axes. */
+  public int axisCount = 0;
+
+  /** Axis values. */
+  public final double[] axes = new double[MAXIMUM_AXES];
+
+  /** Number of buttons. */
+  public int buttonCount = 0;
+
+  /** Button states, where bit i is set if button i + 1 is pressed. */
+  public int buttons = 0;
+
+  /** Number of POVs. */
+  public int povCount = 0;
+
+  /** POV angles in degrees, or -1 if not pressed. */
+  public final int[] povs = new int[MAXIMUM_POVS];
+}
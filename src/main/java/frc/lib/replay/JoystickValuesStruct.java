@@ -0,0 +1,73 @@
+package frc.lib.replay;
+
+import edu.wpi.first.util.struct.Struct;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link JoystickValues}. */
+public class JoystickValuesStruct implements Struct<JoystickValues> {
+
+  @Override
+  public Class<JoystickValues> getTypeClass() {
+    return JoystickValues.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:JoystickValues";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeInt32 * 4
+        + kSizeDouble * JoystickValues.MAXIMUM_AXES
+        + kSizeInt32 * JoystickValues.MAXIMUM_POVS;
+  }
+
+  @Override
+  public String getSchema() {
+    return "int32 axisCount;"
+        + ("double axes[" + JoystickValues.MAXIMUM_AXES + "];")
+        + "int32 buttonCount;"
+        + "int32 buttons;"
+        + "int32 povCount;"
+        + ("int32 povs[" + JoystickValues.MAXIMUM_POVS + "]");
+  }
+
+  @Override
+  public JoystickValues unpack(ByteBuffer bb) {
+    JoystickValues values = new JoystickValues();
+
+    values.axisCount = bb.getInt();
+
+    for (int i = 0; i < values.axes.length; i++) {
+      values.axes[i] = bb.getDouble();
+    }
+
+    values.buttonCount = bb.getInt();
+    values.buttons = bb.getInt();
+    values.povCount = bb.getInt();
+
+    for (int i = 0; i < values.povs.length; i++) {
+      values.povs[i] = bb.getInt();
+    }
+
+    return values;
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, JoystickValues values) {
+    bb.putInt(values.axisCount);
+
+    for (double axis : values.axes) {
+      bb.putDouble(axis);
+    }
+
+    bb.putInt(values.buttonCount);
+    bb.putInt(values.buttons);
+    bb.putInt(values.povCount);
+
+    for (int pov : values.povs) {
+      bb.putInt(pov);
+    }
+  }
+}
@@ -0,0 +1,349 @@
+package frc.lib.replay;
+
+import edu.wpi.first.util.struct.Struct;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Records IO values to a compact binary log on the robot, and streams them back during replay.
+ *
+ * <p>The log starts with a header describing each input, followed by fixed-size frames. Each frame
+ * holds the loop timestamp, the driver station state, and the struct-packed values of every input
+ * in header order. Fixed-size frames allow replay to read any frame directly from a memory-mapped
+ * file.
+ */
+public class ReplayLog {
+
+  /** Name of the system property holding the path of the log to replay. */
+  public static final String REPLAY_PROPERTY = "replay";
+
+  /** Identifies replay log files. */
+  private static final int MAGIC = 0x524C4F47;
+
+  /** Version of the replay log format. */
+  private static final int VERSION = 1;
+
+  /** Size of the timestamp and driver station state at the start of each frame. */
+  private static final int FRAME_HEADER_SIZE = Double.BYTES + Integer.BYTES;
+
+  /** Number of frames buffered before being written to disk. */
+  private static final int FRAMES_PER_CHUNK = 50;
+
+  /** Driver station state flag set while enabled. */
+  private static final int ENABLED_FLAG = 1;
+
+  /** Driver station state flag set while in autonomous. */
+  private static final int AUTONOMOUS_FLAG = 2;
+
+  /** Recorded input. */
+  private record Input<T>(String name, Struct<T> struct, Supplier<T> valuesSupplier) {
+
+    /**
+     * Packs the input's current values into a buffer.
+     *
+     * @param buffer the buffer to pack into.
+     */
+    private void pack(ByteBuffer buffer) {
+      struct.pack(buffer, valuesSupplier.get());
+    }
+  }
+
+  /** Recorded inputs, in frame order. */
+  private static final ArrayList<Input<?>> inputs = new ArrayList<>();
+
+  /** File being recorded to. Null before recording starts. */
+  private static FileChannel recordFile = null;
+
+  /** Buffer which frames are packed into. */
+  private static ByteBuffer chunk = null;
+
+  /** Buffer being written to disk by the writer thread. */
+  private static ByteBuffer writingChunk = null;
+
+  /** Writes full chunks to disk, so the main loop never blocks on disk I/O. */
+  private static ExecutorService writer = null;
+
+  /** Pending write of the previous chunk. Null if there is none. */
+  private static Future<?> pendingWrite = null;
+
+  /** Log being replayed. Null if not replaying. */
+  private static MappedByteBuffer replayBuffer = null;
+
+  /** Offset of each replayed input in a frame. */
+  private static final HashMap<String, Integer> replayOffsets = new HashMap<>();
+
+  /** Offset of the first replayed frame. */
+  private static int replayStart = 0;
+
+  /** Size of each replayed frame. */
+  private static int replayFrameSize = 0;
+
+  /** Number of replayed frames. */
+  private static int replayFrameCount = 0;
+
+  /** Index of the current replayed frame. */
+  private static int replayFrame = -1;
+
+  /**
+   * Returns true if a log is being replayed.
+   *
+   * @return true if a log is being replayed.
+   */
+  public static boolean isReplaying() {
+    return System.getProperty(REPLAY_PROPERTY) != null;
+  }
+
+  /**
+   * Adds an input to record. Inputs must be added before the first loop is recorded.
+   *
+   * @param <T> the type of the input's values.
+   * @param name the name of the input.
+   * @param struct the struct serialization of the input's values.
+   * @param valuesSupplier supplies the input's values.
+   */
+  public static <T> void addInput(String name, Struct<T> struct, Supplier<T> valuesSupplier) {
+    if (recordFile != null) {
+      DriverStation.reportWarning("Replay input " + name + " added after recording started", false);
+      return;
+    }
+
+    inputs.add(new Input<>(name, struct, valuesSupplier));
+  }
+
+  /**
+   * Records the values of every input for this loop. Only records on the robot. Should be called
+   * once per loop, after every input has been updated.
+   */
+  public static void record() {
+    if (RobotBase.isReal() == false || isReplaying()) {
+      return;
+    }
+
+    if (recordFile == null) {
+      startRecording();
+    }
+
+    chunk.putDouble(Timer.getFPGATimestamp());
+    chunk.putInt(
+        (DriverStation.isEnabled() ? ENABLED_FLAG : 0)
+            | (DriverStation.isAutonomous() ? AUTONOMOUS_FLAG : 0));
+
+    for (int i = 0; i < inputs.size(); i++) {
+      inputs.get(i).pack(chunk);
+    }
+
+    if (chunk.remaining() < chunk.position() / FRAMES_PER_CHUNK) {
+      writeChunk();
+    }
+  }
+
+  /** Opens the log file and writes the header. */
+  private static void startRecording() {
+    int frameSize = FRAME_HEADER_SIZE;
+
+    ByteBuffer header = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+    header.putInt(MAGIC);
+    header.putInt(VERSION);
+    header.putInt(inputs.size());
+
+    for (Input<?> input : inputs) {
+      byte[] name = input.name().getBytes(StandardCharsets.UTF_8);
+
+      header.putShort((short) name.length);
+      header.put(name);
+      header.putInt(input.struct().getSize());
+
+      frameSize += input.struct().getSize();
+    }
+
+    header.flip();
+
+    Path path =
+        Paths.get(DataLogManager.getLogDir(), "replay_" + System.currentTimeMillis() + ".rlog");
+
+    try {
+      recordFile = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      recordFile.write(header);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    chunk = ByteBuffer.allocateDirect(frameSize * FRAMES_PER_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+    writingChunk =
+        ByteBuffer.allocateDirect(frameSize * FRAMES_PER_CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+
+    writer =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "Replay Log Writer");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Hands the full chunk to the writer thread and swaps in the other chunk. */
+  private static void writeChunk() {
+    if (pendingWrite != null) {
+      try {
+        pendingWrite.get();
+      } catch (InterruptedException | ExecutionException e) {
+        DriverStation.reportError("Failed to write replay log: " + e.getMessage(), false);
+      }
+    }
+
+    ByteBuffer fullChunk = chunk;
+    chunk = writingChunk;
+    writingChunk = fullChunk;
+
+    fullChunk.flip();
+
+    pendingWrite =
+        writer.submit(
+            () -> {
+              try {
+                while (fullChunk.hasRemaining()) {
+                  recordFile.write(fullChunk);
+                }
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+
+              fullChunk.clear();
+            });
+  }
+
+  /** Memory maps the log being replayed and reads the header. */
+  private static void startReplaying() {
+    Path path = Paths.get(System.getProperty(REPLAY_PROPERTY));
+
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      replayBuffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    replayBuffer.order(ByteOrder.LITTLE_ENDIAN);
+
+    if (replayBuffer.getInt() != MAGIC || replayBuffer.getInt() != VERSION) {
+      throw new IllegalArgumentException(path + " is not a replay log");
+    }
+
+    int inputCount = replayBuffer.getInt();
+
+    replayFrameSize = FRAME_HEADER_SIZE;
+
+    for (int i = 0; i < inputCount; i++) {
+      byte[] name = new byte[replayBuffer.getShort()];
+      replayBuffer.get(name);
+
+      replayOffsets.put(new String(name, StandardCharsets.UTF_8), replayFrameSize);
+
+      replayFrameSize += replayBuffer.getInt();
+    }
+
+    replayStart = replayBuffer.position();
+    replayFrameCount = (replayBuffer.limit() - replayStart) / replayFrameSize;
+  }
+
+  /**
+   * Advances replay to the next frame.
+   *
+   * @return true if there was another frame.
+   */
+  public static boolean nextFrame() {
+    if (replayBuffer == null) {
+      startReplaying();
+    }
+
+    if (replayFrame + 1 >= replayFrameCount) {
+      return false;
+    }
+
+    replayFrame++;
+
+    return true;
+  }
+
+  /**
+   * Returns the offset of the current replayed frame. Before the first frame, returns the offset of
+   * the first frame.
+   *
+   * @return the offset of the current replayed frame.
+   */
+  private static int getFrameOffset() {
+    return replayStart + Math.max(replayFrame, 0) * replayFrameSize;
+  }
+
+  /**
+   * Returns the timestamp of the current replayed frame.
+   *
+   * @return the timestamp of the current replayed frame in seconds.
+   */
+  public static double getTimestamp() {
+    return replayBuffer.getDouble(getFrameOffset());
+  }
+
+  /**
+   * Returns true if the robot was enabled during the current replayed frame.
+   *
+   * @return true if the robot was enabled during the current replayed frame.
+   */
+  public static boolean isEnabled() {
+    return (replayBuffer.getInt(getFrameOffset() + Double.BYTES) & ENABLED_FLAG) != 0;
+  }
+
+  /**
+   * Returns true if the robot was in autonomous during the current replayed frame.
+   *
+   * @return true if the robot was in autonomous during the current replayed frame.
+   */
+  public static boolean isAutonomous() {
+    return (replayBuffer.getInt(getFrameOffset() + Double.BYTES) & AUTONOMOUS_FLAG) != 0;
+  }
+
+  /**
+   * Reads an input's values from the current replayed frame.
+   *
+   * @param <T> the type of the input's values.
+   * @param name the name of the input.
+   * @param struct the struct serialization of the input's values.
+   * @return the input's values, or empty if the input was not recorded.
+   */
+  public static <T> Optional<T> read(String name, Struct<T> struct) {
+    if (replayBuffer == null) {
+      startReplaying();
+    }
+
+    Integer offset = replayOffsets.get(name);
+
+    if (offset == null || replayFrame < 0) {
+      return Optional.empty();
+    }
+
+    ByteBuffer frame = replayBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    frame.position(getFrameOffset() + offset);
+
+    return Optional.of(struct.unpack(frame));
+  }
+}
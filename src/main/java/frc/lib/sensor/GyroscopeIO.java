@@ -1,10 +1,16 @@
 package frc.lib.sensor;
 
+import frc.lib.SampledSignal;
+import java.util.Optional;
+
 /** Gyroscope interface. */
 public interface GyroscopeIO {
 
   /** Gyroscope interface. */
   public static class GyroscopeIOValues {
+    /** Struct serialization of gyroscope values. */
+    public static final GyroscopeIOValuesStruct struct = new GyroscopeIOValuesStruct();
+
     /** Roll angle in rotations. */
     public double rollRotations = 0.0;
 
@@ -40,4 +46,13 @@ public interface GyroscopeIO {
    * @param yawRotations the gyroscope's yaw.
    */
   public void setYaw(double yawRotations);
+
+  /**
+   * Returns the yaw signal in degrees for high frequency sampling, if supported.
+   *
+   * @return the yaw signal in degrees for high frequency sampling, if supported.
+   */
+  public default Optional<SampledSignal> getSampledYaw() {
+    return Optional.empty();
+  }
 }
@@ -1,10 +1,12 @@
 package frc.lib.sensor;
 
-import com.ctre.phoenix6.BaseStatusSignal;
 import com.ctre.phoenix6.StatusSignal;
 import com.ctre.phoenix6.hardware.Pigeon2;
 import edu.wpi.first.math.util.Units;
+import frc.lib.SampledSignal;
+import frc.lib.SignalRegistry;
 import frc.lib.config.applier.Pigeon2ConfigApplier;
+import java.util.Optional;
 
 /** Pigeon 2 gyroscope. */
 public class GyroscopeIOPigeon2 implements GyroscopeIO {
@@ -30,12 +32,12 @@ public class GyroscopeIOPigeon2 implements GyroscopeIO {
   @Override
   public void configure() {
     Pigeon2ConfigApplier.applyFactoryDefault(gyroscope);
+
+    SignalRegistry.register(gyroscope, roll, pitch, yaw, rollVelocity, pitchVelocity, yawVelocity);
   }
 
   @Override
   public void update(GyroscopeIOValues values) {
-    BaseStatusSignal.refreshAll(roll, pitch, yaw, rollVelocity, pitchVelocity, yawVelocity);
-
     values.rollRotations = Units.degreesToRotations(roll.getValue());
     values.pitchRotations = Units.degreesToRotations(pitch.getValue());
     values.yawRotations = Units.degreesToRotations(yaw.getValue());
@@ -49,4 +51,10 @@ public class GyroscopeIOPigeon2 implements GyroscopeIO {
   public void setYaw(double yawRotations) {
     gyroscope.setYaw(Units.rotationsToDegrees(yawRotations));
   }
+
+  @Override
+  public Optional<SampledSignal> getSampledYaw() {
+    // Sampled from another thread, so use independent copies of the signals
+    return Optional.of(new SampledSignal(yaw.clone(), yawVelocity.clone()));
+  }
 }
@@ -0,0 +1,39 @@
+package frc.lib.sensor;
+
+import frc.lib.replay.ReplayLog;
+
+/** Gyroscope which replays recorded values. */
+public class GyroscopeIOReplay implements GyroscopeIO {
+
+  /** Name of the recorded gyroscope. */
+  private final String name;
+
+  /**
+   * Creates a new replayed gyroscope.
+   *
+   * @param name the name of the recorded gyroscope.
+   */
+  public GyroscopeIOReplay(String name) {
+    this.name = name;
+  }
+
+  @Override
+  public void configure() {}
+
+  @Override
+  public void update(GyroscopeIOValues values) {
+    ReplayLog.read(name, GyroscopeIOValues.struct)
+        .ifPresent(
+            recorded -> {
+              values.rollRotations = recorded.rollRotations;
+              values.pitchRotations = recorded.pitchRotations;
+              values.yawRotations = recorded.yawRotations;
+              values.rollVelocityRotations = recorded.rollVelocityRotations;
+              values.pitchVelocityRotations = recorded.pitchVelocityRotations;
+              values.yawVelocityRotations = recorded.yawVelocityRotations;
+            });
+  }
+
+  @Override
+  public void setYaw(double yawRotations) {}
+}
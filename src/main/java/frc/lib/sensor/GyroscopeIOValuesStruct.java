@@ -0,0 +1,58 @@
+package frc.lib.sensor;
+
+import edu.wpi.first.util.struct.Struct;
+import frc.lib.sensor.GyroscopeIO.GyroscopeIOValues;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link GyroscopeIOValues}. */
+public class GyroscopeIOValuesStruct implements Struct<GyroscopeIOValues> {
+
+  @Override
+  public Class<GyroscopeIOValues> getTypeClass() {
+    return GyroscopeIOValues.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:GyroscopeIOValues";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeDouble * 6;
+  }
+
+  @Override
+  public String getSchema() {
+    return "double rollRotations;"
+        + "double pitchRotations;"
+        + "double yawRotations;"
+        + "double rollVelocityRotations;"
+        + "double pitchVelocityRotations;"
+        + "double yawVelocityRotations";
+  }
+
+  @Override
+  public GyroscopeIOValues unpack(ByteBuffer bb) {
+    GyroscopeIOValues values = new GyroscopeIOValues();
+
+    values.rollRotations = bb.getDouble();
+    values.pitchRotations = bb.getDouble();
+    values.yawRotations = bb.getDouble();
+    values.rollVelocityRotations = bb.getDouble();
+    values.pitchVelocityRotations = bb.getDouble();
+    values.yawVelocityRotations = bb.getDouble();
+
+    return values;
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, GyroscopeIOValues values) {
+    bb.putDouble(values.rollRotations);
+    bb.putDouble(values.pitchRotations);
+    bb.putDouble(values.yawRotations);
+    bb.putDouble(values.rollVelocityRotations);
+    bb.putDouble(values.pitchVelocityRotations);
+    bb.putDouble(values.yawVelocityRotations);
+  }
+}
@@ -0,0 +1,35 @@
+package frc.lib.sensor;
+
+import edu.wpi.first.math.geometry.Pose2d;
+
+/** Vision interface. */
+public interface VisionIO {
+
+  /** Vision values. */
+  public static class VisionIOValues {
+    /** True if the camera produced a pose estimate. */
+    public boolean hasEstimate = false;
+
+    /** Estimated position of the robot on the field. */
+    public Pose2d position = new Pose2d();
+
+    /** Timestamp of the estimate in seconds. */
+    public double timestampSeconds = 0.0;
+
+    /** Number of AprilTags used for the estimate. */
+    public int tagCount = 0;
+
+    /** Average distance to the AprilTags used for the estimate in meters. */
+    public double averageTagDistanceMeters = 0.0;
+  }
+
+  /** Configures the camera. */
+  public void configure();
+
+  /**
+   * Updates the camera's values.
+   *
+   * @param values
+   */
+  public void update(VisionIOValues values);
+}
@@ -0,0 +1,66 @@
+package frc.lib.sensor;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Transform3d;
+import java.util.List;
+import java.util.Optional;
+import org.photonvision.EstimatedRobotPose;
+import org.photonvision.PhotonCamera;
+import org.photonvision.PhotonPoseEstimator;
+import org.photonvision.PhotonPoseEstimator.PoseStrategy;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+/** PhotonVision camera. */
+public class VisionIOPhotonVision implements VisionIO {
+
+  /** Camera. */
+  protected final PhotonCamera camera;
+
+  /** Estimates the position of the robot from the AprilTags seen by the camera. */
+  private final PhotonPoseEstimator poseEstimator;
+
+  /**
+   * Creates a new PhotonVision camera.
+   *
+   * @param cameraName the name of the camera.
+   * @param robotToCamera the transform from the center of the robot to the camera.
+   * @param fieldLayout the layout of the AprilTags on the field.
+   */
+  public VisionIOPhotonVision(
+      String cameraName, Transform3d robotToCamera, AprilTagFieldLayout fieldLayout) {
+    camera = new PhotonCamera(cameraName);
+
+    poseEstimator =
+        new PhotonPoseEstimator(
+            fieldLayout, PoseStrategy.MULTI_TAG_PNP_ON_COPROCESSOR, camera, robotToCamera);
+  }
+
+  @Override
+  public void configure() {
+    poseEstimator.setMultiTagFallbackStrategy(PoseStrategy.LOWEST_AMBIGUITY);
+  }
+
+  @Override
+  public void update(VisionIOValues values) {
+    Optional<EstimatedRobotPose> estimate = poseEstimator.update(camera.getLatestResult());
+
+    values.hasEstimate = estimate.isPresent();
+
+    if (estimate.isEmpty()) {
+      return;
+    }
+
+    List<PhotonTrackedTarget> targets = estimate.get().targetsUsed;
+
+    double totalTagDistanceMeters = 0.0;
+
+    for (PhotonTrackedTarget target : targets) {
+      totalTagDistanceMeters += target.getBestCameraToTarget().getTranslation().getNorm();
+    }
+
+    values.position = estimate.get().estimatedPose.toPose2d();
+    values.timestampSeconds = estimate.get().timestampSeconds;
+    values.tagCount = targets.size();
+    values.averageTagDistanceMeters = totalTagDistanceMeters / Math.max(targets.size(), 1);
+  }
+}
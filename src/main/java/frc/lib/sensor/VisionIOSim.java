@@ -0,0 +1,55 @@
+package frc.lib.sensor;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Transform3d;
+import java.util.function.Supplier;
+import org.photonvision.simulation.PhotonCameraSim;
+import org.photonvision.simulation.SimCameraProperties;
+import org.photonvision.simulation.VisionSystemSim;
+
+/** Simulated PhotonVision camera. */
+public class VisionIOSim extends VisionIOPhotonVision {
+
+  /** Simulated field of AprilTags. */
+  private final VisionSystemSim visionSystemSim;
+
+  /** Supplies the simulated position of the robot on the field. */
+  private final Supplier<Pose2d> positionSupplier;
+
+  /**
+   * Creates a new simulated PhotonVision camera.
+   *
+   * @param cameraName the name of the camera.
+   * @param robotToCamera the transform from the center of the robot to the camera.
+   * @param fieldLayout the layout of the AprilTags on the field.
+   * @param positionSupplier supplies the simulated position of the robot on the field.
+   */
+  public VisionIOSim(
+      String cameraName,
+      Transform3d robotToCamera,
+      AprilTagFieldLayout fieldLayout,
+      Supplier<Pose2d> positionSupplier) {
+    super(cameraName, robotToCamera, fieldLayout);
+
+    this.positionSupplier = positionSupplier;
+
+    SimCameraProperties cameraProperties = new SimCameraProperties();
+
+    cameraProperties.setCalibError(0.25, 0.08);
+    cameraProperties.setFPS(30.0);
+    cameraProperties.setAvgLatencyMs(35.0);
+    cameraProperties.setLatencyStdDevMs(5.0);
+
+    visionSystemSim = new VisionSystemSim(cameraName);
+    visionSystemSim.addAprilTags(fieldLayout);
+    visionSystemSim.addCamera(new PhotonCameraSim(camera, cameraProperties), robotToCamera);
+  }
+
+  @Override
+  public void update(VisionIOValues values) {
+    visionSystemSim.update(positionSupplier.get());
+
+    super.update(values);
+  }
+}
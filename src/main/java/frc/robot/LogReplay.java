@@ -0,0 +1,83 @@
+package frc.robot;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.lib.replay.DriverStationReplay;
+import frc.lib.replay.ReplayLog;
+
+/**
+ * Replays a log recorded on the robot. Every IO is replaced by one which reads the recorded values,
+ * so the robot code runs against exactly the inputs it saw on the field. Time is stepped to each
+ * recorded timestamp instead of waiting, so replay runs as fast as possible.
+ *
+ * <p>Pass the path of the log to replay as the {@value ReplayLog#REPLAY_PROPERTY} system property.
+ */
+public class LogReplay {
+
+  /**
+   * Replays a log.
+   *
+   * @param args unused.
+   */
+  public static void main(String[] args) {
+    if (ReplayLog.isReplaying() == false) {
+      System.err.println("Set -D" + ReplayLog.REPLAY_PROPERTY + "=<log> to choose a log to replay");
+      System.exit(1);
+    }
+
+    HAL.initialize(500, 0);
+
+    // Time only advances when stepped, so it can follow the recorded timestamps
+    SimHooks.pauseTiming();
+
+    DriverStationSim.setDsAttached(true);
+    DriverStationSim.notifyNewData();
+
+    Robot robot = new Robot();
+    robot.robotInit();
+
+    boolean wasEnabled = false;
+    boolean wasAutonomous = false;
+    int frames = 0;
+
+    while (ReplayLog.nextFrame()) {
+      double stepSeconds = ReplayLog.getTimestamp() - Timer.getFPGATimestamp();
+
+      if (stepSeconds > 0.0) {
+        SimHooks.stepTiming(stepSeconds);
+      }
+
+      boolean isEnabled = ReplayLog.isEnabled();
+      boolean isAutonomous = ReplayLog.isAutonomous();
+
+      DriverStationReplay.replay();
+      DriverStationSim.setEnabled(isEnabled);
+      DriverStationSim.setAutonomous(isAutonomous);
+      DriverStationSim.notifyNewData();
+      DriverStation.refreshData();
+
+      // Run the mode transitions that the robot ran when the log was recorded
+      if (isEnabled && (wasEnabled == false || isAutonomous != wasAutonomous)) {
+        if (isAutonomous) {
+          robot.autonomousInit();
+        } else {
+          robot.teleopInit();
+        }
+      }
+
+      wasEnabled = isEnabled;
+      wasAutonomous = isAutonomous;
+
+      robot.robotPeriodic();
+
+      frames++;
+    }
+
+    System.out.println(String.format("Replayed %d loops", frames));
+
+    System.exit(0);
+  }
+}
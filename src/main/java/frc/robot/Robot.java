@@ -5,6 +5,15 @@ import edu.wpi.first.wpilibj.DriverStation.Alliance;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.lib.LoopProfiler;
+import frc.lib.SignalRegistry;
+import frc.lib.SimulatedBattery;
+import frc.lib.TelemetryLog;
+import frc.lib.TelemetryPublisher;
+import frc.lib.config.applier.ConfigApplier;
+import frc.lib.replay.DriverStationReplay;
+import frc.lib.replay.ReplayLog;
+import frc.robot.swerve.Swerve;
 
 public class Robot extends TimedRobot {
 
@@ -14,6 +23,12 @@ public class Robot extends TimedRobot {
   /** Command to run during autonomous. */
   private Command autonomousCommand;
 
+  /** Profiled sections of the robot loop. */
+  private final LoopProfiler.Section loopSection = LoopProfiler.addSection("Loop/Total"),
+      signalsSection = LoopProfiler.addSection("Loop/Signals"),
+      schedulerSection = LoopProfiler.addSection("Loop/Scheduler"),
+      telemetrySection = LoopProfiler.addSection("Loop/Telemetry");
+
   /**
    * Returns true if on red alliance.
    *
@@ -27,11 +42,53 @@ public class Robot extends TimedRobot {
   @Override
   public void robotInit() {
     robotContainer = RobotContainer.getInstance();
+
+    // Record the driver station and controllers so that replay sees the same driver inputs
+    DriverStationReplay.addInputs();
+
+    // Hardware configs are applied concurrently, so wait for all of them before the first loop
+    ConfigApplier.awaitAll();
   }
 
   @Override
   public void robotPeriodic() {
+    long loopStartNanos = LoopProfiler.mark();
+
+    // Refresh all signals at once so that every subsystem reads values from the same instant
+    SignalRegistry.refreshAll();
+
+    // Sample the swerve modules once, before any subsystem reads them
+    Swerve.getInstance().sample();
+
+    long schedulerStartNanos = LoopProfiler.mark();
+
     CommandScheduler.getInstance().run();
+
+    long telemetryStartNanos = LoopProfiler.mark();
+
+    // Record this loop's values to the on-robot log
+    TelemetryLog.update();
+
+    // Publish the telemetry channels which are due this loop
+    TelemetryPublisher.update();
+
+    // Record this loop's inputs so that the loop can be replayed off the robot
+    ReplayLog.record();
+
+    long loopEndNanos = System.nanoTime();
+
+    signalsSection.record(schedulerStartNanos - loopStartNanos);
+    schedulerSection.record(telemetryStartNanos - schedulerStartNanos);
+    telemetrySection.record(loopEndNanos - telemetryStartNanos);
+    loopSection.record(loopEndNanos - loopStartNanos);
+
+    LoopProfiler.publish();
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    // Sag the simulated battery voltage under the current drawn this loop
+    SimulatedBattery.update();
   }
 
   @Override
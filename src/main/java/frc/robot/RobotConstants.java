@@ -12,6 +12,9 @@ public class RobotConstants {
   /** Duration of each robot periodic call in seconds. */
   public static final double PERIODIC_DURATION = 1.0 / PERIODIC_RATE;
 
+  /** Number of odometry samples per second. */
+  public static final double ODOMETRY_RATE = 250;
+
   /** Subsystems. */
   public enum Subsystem {
     ARM,
@@ -19,6 +22,7 @@ public class RobotConstants {
     ODOMETRY,
     SHOOTER,
     SWERVE,
+    VISION,
   }
 
   /** Real subsystems. */
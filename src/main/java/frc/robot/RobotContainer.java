@@ -3,6 +3,7 @@ package frc.robot;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import frc.lib.LoopProfiler;
 import frc.lib.Telemetry;
 import frc.robot.arm.Arm;
 import frc.robot.auto.Auto;
@@ -13,6 +14,8 @@ import frc.robot.superstructure.Superstructure;
 import frc.robot.superstructure.SuperstructureMechanism;
 import frc.robot.superstructure.SuperstructureState;
 import frc.robot.swerve.Swerve;
+import java.util.HashMap;
+import java.util.Map;
 
 /** Robot container. */
 public class RobotContainer {
@@ -47,6 +50,12 @@ public class RobotContainer {
   /** Operator controller. */
   private final CommandXboxController operatorController;
 
+  /**
+   * Profiled autonomous commands for each selected autonomous command. A command can only be
+   * wrapped once, so each is profiled the first time it is selected and reused afterwards.
+   */
+  private final Map<Command, Command> profiledAutonomousCommands = new HashMap<>();
+
   /** Initializes the robot container. */
   private RobotContainer() {
     arm = Arm.getInstance();
@@ -87,34 +96,50 @@ public class RobotContainer {
 
   /** Configures subsystem default commands. */
   private void configureDefaultCommands() {
-    swerve.setDefaultCommand(swerve.teleopDrive(driverController));
+    swerve.setDefaultCommand(LoopProfiler.profile(swerve.teleopDrive(driverController)));
   }
 
-  /** Configures controller bindings. */
+  /** Configures controller bindings. Bound commands are profiled by the loop profiler. */
   private void configureBindings() {
-    driverController.a().whileTrue(swerve.forwards());
-    driverController.b().whileTrue(swerve.sideways());
-    driverController.x().whileTrue(swerve.cross());
-
-    driverController.y().onTrue(odometry.tare());
-
-    operatorController.leftBumper().onTrue(superstructure.eject());
-    operatorController.leftTrigger().onTrue(superstructure.intake());
-
-    operatorController.rightBumper().onTrue(superstructure.shoot(SuperstructureState.SUBWOOFER));
-    operatorController.rightTrigger().onTrue(superstructure.prepare(SuperstructureState.SUBWOOFER));
-
-    operatorController.a().onTrue(superstructure.amp());
-    operatorController.x().onTrue(superstructure.stow());
-    operatorController.y().onTrue(superstructure.skim());
+    driverController.a().whileTrue(LoopProfiler.profile(swerve.forwards()));
+    driverController.b().whileTrue(LoopProfiler.profile(swerve.sideways()));
+    driverController.x().whileTrue(LoopProfiler.profile(swerve.cross()));
+
+    driverController.y().onTrue(LoopProfiler.profile(odometry.tare()));
+
+    driverController
+        .rightBumper()
+        .whileTrue(
+            LoopProfiler.profile(
+                swerve.headingLockDrive(driverController, superstructure::getSpeakerHeading)));
+
+    operatorController.leftBumper().onTrue(LoopProfiler.profile(superstructure.eject()));
+    operatorController.leftTrigger().onTrue(LoopProfiler.profile(superstructure.intake()));
+
+    operatorController
+        .rightBumper()
+        .onTrue(LoopProfiler.profile(superstructure.shoot(SuperstructureState.SUBWOOFER)));
+    operatorController
+        .rightTrigger()
+        .onTrue(LoopProfiler.profile(superstructure.prepare(SuperstructureState.SUBWOOFER)));
+
+    operatorController.a().onTrue(LoopProfiler.profile(superstructure.amp()));
+    operatorController.x().onTrue(LoopProfiler.profile(superstructure.stow()));
+    operatorController.y().onTrue(LoopProfiler.profile(superstructure.skim()));
   }
 
   /**
-   * Returns the command to run during the autonomous period.
+   * Returns the command to run during the autonomous period, profiled like the teleop commands.
    *
-   * @return the command to run during the autonomous period.
+   * @return the command to run during the autonomous period, or null if none is selected.
    */
   public Command getAutonomousCommand() {
-    return auto.getSelectedCommand();
+    Command autonomousCommand = auto.getSelectedCommand();
+
+    if (autonomousCommand == null) {
+      return null;
+    }
+
+    return profiledAutonomousCommands.computeIfAbsent(autonomousCommand, LoopProfiler::profile);
   }
 }
@@ -7,10 +7,14 @@ import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import frc.lib.Subsystem;
 import frc.lib.Telemetry;
+import frc.lib.TelemetryLog;
+import frc.lib.TelemetryPublisher;
+import frc.lib.TelemetryPublisher.Priority;
 import frc.lib.config.MechanismConfig;
 import frc.lib.config.MechanismConfig.MechanismConfigBuilder;
 import frc.lib.controller.PositionControllerIO;
 import frc.lib.controller.PositionControllerIO.PositionControllerIOValues;
+import frc.lib.replay.ReplayLog;
 
 /** Arm subsystem. */
 public class Arm extends Subsystem {
@@ -67,6 +71,9 @@ public class Arm extends Subsystem {
 
     shoulderValues = new PositionControllerIOValues();
 
+    TelemetryLog.addStruct("Arm/Shoulder", PositionControllerIOValues.struct, () -> shoulderValues);
+    ReplayLog.addInput("Arm/Shoulder", PositionControllerIOValues.struct, () -> shoulderValues);
+
     shoulderMotionProfile = shoulderConfig.motionProfileConfig().createTrapezoidProfile();
 
     previousTimeSeconds = Timer.getFPGATimestamp();
@@ -89,18 +96,23 @@ public class Arm extends Subsystem {
   }
 
   @Override
-  public void periodic() {
+  public void subsystemPeriodic() {
     shoulder.update(shoulderValues);
 
     double timeSeconds = Timer.getFPGATimestamp();
 
-    // Calculate the time elapsed since the previous setpoint was generated
-    double timeElapsedSeconds = timeSeconds - previousTimeSeconds;
-
-    setpoint =
-        new ArmState(
-            shoulderMotionProfile.calculate(
-                timeElapsedSeconds, setpoint.shoulderRotations(), goal.shoulderRotations()));
+    if (shoulder.isProfiledOnboard()) {
+      // The shoulder controller generates the motion profile, so command the goal directly
+      setpoint = goal;
+    } else {
+      // Calculate the time elapsed since the previous setpoint was generated
+      double timeElapsedSeconds = timeSeconds - previousTimeSeconds;
+
+      setpoint =
+          new ArmState(
+              shoulderMotionProfile.calculate(
+                  timeElapsedSeconds, setpoint.shoulderRotations(), goal.shoulderRotations()));
+    }
 
     shoulder.setSetpoint(
         setpoint.shoulderRotations().position, setpoint.shoulderRotations().velocity);
@@ -112,8 +124,12 @@ public class Arm extends Subsystem {
   public void addToShuffleboard(ShuffleboardTab tab) {
     PositionControllerIO.addToShuffleboard(tab, "Shoulder", shoulderValues);
 
-    Telemetry.addColumn(tab, "Setpoint")
-        .addDouble("Setpoint (rot)", () -> setpoint.shoulderRotations().position);
+    TelemetryPublisher.addDouble(
+            Telemetry.addColumn(tab, "Setpoint"),
+            "Setpoint (rot)",
+            () -> setpoint.shoulderRotations().position,
+            Priority.NORMAL)
+        .withDeadband(0.001);
   }
 
   /**
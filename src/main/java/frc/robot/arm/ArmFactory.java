@@ -1,10 +1,14 @@
 package frc.robot.arm;
 
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.util.Units;
 import frc.lib.CAN;
 import frc.lib.config.MechanismConfig;
 import frc.lib.controller.PositionControllerIO;
-import frc.lib.controller.PositionControllerIOSim;
-import frc.lib.controller.PositionControllerIOTalonFX2;
+import frc.lib.controller.PositionControllerIOReplay;
+import frc.lib.controller.PositionControllerIOSimArm;
+import frc.lib.controller.PositionControllerIOTalonFXMotionMagic;
+import frc.lib.replay.ReplayLog;
 import frc.robot.Robot;
 import frc.robot.RobotConstants;
 import frc.robot.RobotConstants.Subsystem;
@@ -19,11 +23,22 @@ public class ArmFactory {
    * @return the shoulder controller.
    */
   public static PositionControllerIO createShoulder(MechanismConfig config) {
+    if (ReplayLog.isReplaying()) {
+      return new PositionControllerIOReplay("Arm/Shoulder");
+    }
+
     if (Robot.isReal() && RobotConstants.REAL_SUBSYSTEMS.contains(Subsystem.ARM)) {
-      return new PositionControllerIOTalonFX2(
+      return new PositionControllerIOTalonFXMotionMagic(
           new CAN(48), new CAN(46), new CAN(52), config, false, true);
     }
 
-    return new PositionControllerIOSim();
+    // Arm mass and length are chosen so that gravity in simulation matches the kG gain
+    return new PositionControllerIOSimArm(
+        config,
+        DCMotor.getFalcon500(2),
+        0.5,
+        6.5,
+        Units.degreesToRotations(-26.0),
+        Units.degreesToRotations(90.0));
   }
 }
@@ -75,7 +75,7 @@ public class Auto extends Subsystem {
   }
 
   @Override
-  public void periodic() {}
+  public void subsystemPeriodic() {}
 
   @Override
   public void addToShuffleboard(ShuffleboardTab tab) {
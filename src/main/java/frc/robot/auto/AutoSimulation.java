@@ -0,0 +1,234 @@
+package frc.robot.auto;
+
+import com.pathplanner.lib.commands.PathPlannerAuto;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.Robot;
+import frc.robot.RobotConstants;
+import frc.robot.odometry.Odometry;
+import frc.robot.superstructure.Superstructure;
+import frc.robot.superstructure.SuperstructureState;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs autos in a headless simulation as fast as possible. Time is stepped manually instead of
+ * waiting for each loop, so a 15 second auto finishes in a fraction of the wall time.
+ *
+ * <p>With an auto name as the argument, runs that auto. With no arguments, runs every competition
+ * auto in its own process, in parallel across all cores.
+ */
+public class AutoSimulation {
+
+  /** Duration of the autonomous period in seconds. */
+  private static final double AUTO_DURATION = 15.0;
+
+  /** Prefix of the result line printed by each simulated auto. */
+  private static final String RESULT_PREFIX = "AUTO_RESULT ";
+
+  /** Prefix of the competition autos. */
+  private static final String AUTO_PREFIX = "cmp.";
+
+  /** File extension of autos. */
+  private static final String AUTO_EXTENSION = ".auto";
+
+  /**
+   * Returns true if a superstructure goal feeds the serializer into a spinning flywheel. Nothing
+   * senses whether a note is held, so this counts as a shot attempt rather than a shot.
+   *
+   * @param goal the superstructure goal.
+   * @return true if the goal feeds the serializer into a spinning flywheel.
+   */
+  private static boolean isShooting(SuperstructureState goal) {
+    return goal != null
+        && goal.shooterState().flywheelVelocityRotationsPerSecond() > 0.0
+        && goal.shooterState().serializerVelocityRotationsPerSecond() > 0.0;
+  }
+
+  /**
+   * Runs an auto in this process and prints its result.
+   *
+   * @param autoName the name of the auto.
+   */
+  private static void simulate(String autoName) {
+    HAL.initialize(500, 0);
+
+    // Time only advances when stepped, so loops run as fast as the CPU allows
+    SimHooks.pauseTiming();
+
+    DriverStationSim.setDsAttached(true);
+    DriverStationSim.setAutonomous(true);
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+
+    // A vision thread would run in wall time, so the cameras are polled in each stepped loop
+    Odometry.pollVisionInLoop();
+
+    Robot robot = new Robot();
+    robot.robotInit();
+
+    Command auto = new PathPlannerAuto(autoName);
+    auto.schedule();
+
+    boolean wasShooting = false;
+    int shotsAttempted = 0;
+    double elapsedSeconds = 0.0;
+
+    while (elapsedSeconds < AUTO_DURATION) {
+      DriverStation.refreshData();
+
+      robot.robotPeriodic();
+      robot.simulationPeriodic();
+
+      boolean isShooting = isShooting(Superstructure.getInstance().getGoal());
+
+      if (isShooting && wasShooting == false) {
+        shotsAttempted++;
+      }
+
+      wasShooting = isShooting;
+
+      SimHooks.stepTiming(RobotConstants.PERIODIC_DURATION);
+      elapsedSeconds += RobotConstants.PERIODIC_DURATION;
+
+      if (auto.isScheduled() == false) {
+        break;
+      }
+    }
+
+    Pose2d position = Odometry.getInstance().getPosition();
+
+    String completion = auto.isScheduled() ? "DNF" : String.format("%.2f s", elapsedSeconds);
+
+    System.out.println(
+        String.format(
+            "%s%-26s %8s  x %6.2f m  y %6.2f m  heading %7.1f deg  shots attempted %d",
+            RESULT_PREFIX,
+            autoName,
+            completion,
+            position.getX(),
+            position.getY(),
+            position.getRotation().getDegrees(),
+            shotsAttempted));
+  }
+
+  /**
+   * Returns the names of the competition autos.
+   *
+   * @return the names of the competition autos.
+   */
+  private static List<String> getAutoNames() {
+    File autos =
+        Paths.get(Filesystem.getDeployDirectory().getPath(), "pathplanner", "autos").toFile();
+
+    String[] fileNames =
+        autos.list(
+            (directory, name) -> name.startsWith(AUTO_PREFIX) && name.endsWith(AUTO_EXTENSION));
+
+    if (fileNames == null) {
+      return List.of();
+    }
+
+    Arrays.sort(fileNames);
+
+    List<String> autoNames = new ArrayList<>();
+
+    for (String fileName : fileNames) {
+      autoNames.add(fileName.substring(0, fileName.length() - AUTO_EXTENSION.length()));
+    }
+
+    return autoNames;
+  }
+
+  /**
+   * Runs an auto in a separate process and returns its result.
+   *
+   * @param autoName the name of the auto.
+   * @return the result of the auto.
+   * @throws IOException if the process could not be started.
+   * @throws InterruptedException if interrupted while waiting for the process.
+   */
+  private static String simulateInProcess(String autoName)
+      throws IOException, InterruptedException {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+    Process process =
+        new ProcessBuilder(
+                java,
+                "-cp",
+                System.getProperty("java.class.path"),
+                "-Djava.library.path=" + System.getProperty("java.library.path"),
+                AutoSimulation.class.getName(),
+                autoName)
+            .redirectErrorStream(true)
+            .start();
+
+    String result = autoName + " failed";
+
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+      String line;
+
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(RESULT_PREFIX)) {
+          result = line.substring(RESULT_PREFIX.length());
+        }
+      }
+    }
+
+    process.waitFor();
+
+    return result;
+  }
+
+  /**
+   * Runs autos in a headless simulation.
+   *
+   * @param args the name of the auto to run, or nothing to run every competition auto.
+   * @throws Exception if a simulation process fails.
+   */
+  public static void main(String[] args) throws Exception {
+    if (args.length == 1) {
+      simulate(args[0]);
+      System.exit(0);
+    }
+
+    long startNanos = System.nanoTime();
+
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    List<Future<String>> results = new ArrayList<>();
+
+    for (String autoName : getAutoNames()) {
+      results.add(executor.submit(() -> simulateInProcess(autoName)));
+    }
+
+    for (Future<String> result : results) {
+      System.out.println(result.get());
+    }
+
+    executor.shutdown();
+
+    double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+    System.out.println(
+        String.format("Simulated %d autos in %.1f s", results.size(), elapsedSeconds));
+
+    System.exit(0);
+  }
+}
@@ -3,10 +3,12 @@ package frc.robot.intake;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj2.command.button.Trigger;
 import frc.lib.Subsystem;
+import frc.lib.TelemetryLog;
 import frc.lib.config.MechanismConfig;
 import frc.lib.config.MechanismConfig.MechanismConfigBuilder;
 import frc.lib.controller.VelocityControllerIO;
 import frc.lib.controller.VelocityControllerIO.VelocityControllerIOValues;
+import frc.lib.replay.ReplayLog;
 
 /** Intake subsystem. */
 public class Intake extends Subsystem {
@@ -61,11 +63,21 @@ public class Intake extends Subsystem {
 
     frontRollerValues = new VelocityControllerIOValues();
 
+    TelemetryLog.addStruct(
+        "Intake/Front Roller", VelocityControllerIOValues.struct, () -> frontRollerValues);
+    ReplayLog.addInput(
+        "Intake/Front Roller", VelocityControllerIOValues.struct, () -> frontRollerValues);
+
     backRoller = IntakeFactory.createBackRoller(backRollerConfig);
     backRoller.configure();
 
     backRollerValues = new VelocityControllerIOValues();
 
+    TelemetryLog.addStruct(
+        "Intake/Back Roller", VelocityControllerIOValues.struct, () -> backRollerValues);
+    ReplayLog.addInput(
+        "Intake/Back Roller", VelocityControllerIOValues.struct, () -> backRollerValues);
+
     setpoint = IntakeState.IDLE;
     goal = IntakeState.IDLE;
   }
@@ -84,7 +96,7 @@ public class Intake extends Subsystem {
   }
 
   @Override
-  public void periodic() {
+  public void subsystemPeriodic() {
     frontRoller.update(frontRollerValues);
     backRoller.update(backRollerValues);
 
@@ -1,10 +1,13 @@
 package frc.robot.intake;
 
+import edu.wpi.first.math.system.plant.DCMotor;
 import frc.lib.CAN;
 import frc.lib.config.MechanismConfig;
 import frc.lib.controller.VelocityControllerIO;
-import frc.lib.controller.VelocityControllerIOSim;
-import frc.lib.controller.VelocityControllerIOTalonFXPIDF;
+import frc.lib.controller.VelocityControllerIOReplay;
+import frc.lib.controller.VelocityControllerIOSimFlywheel;
+import frc.lib.controller.VelocityControllerIOTalonFXOnboard;
+import frc.lib.replay.ReplayLog;
 import frc.robot.Robot;
 import frc.robot.RobotConstants;
 import frc.robot.RobotConstants.Subsystem;
@@ -19,11 +22,15 @@ public class IntakeFactory {
    * @return the front roller controller.
    */
   public static VelocityControllerIO createFrontRoller(MechanismConfig config) {
+    if (ReplayLog.isReplaying()) {
+      return new VelocityControllerIOReplay("Intake/Front Roller");
+    }
+
     if (Robot.isReal() && RobotConstants.REAL_SUBSYSTEMS.contains(Subsystem.INTAKE)) {
-      return new VelocityControllerIOTalonFXPIDF(new CAN(50), config);
+      return new VelocityControllerIOTalonFXOnboard(new CAN(50), config);
     }
 
-    return new VelocityControllerIOSim();
+    return new VelocityControllerIOSimFlywheel(config, DCMotor.getFalcon500(1), 0.0005);
   }
 
   /**
@@ -33,10 +40,14 @@ public class IntakeFactory {
    * @return the back roller controller.
    */
   public static VelocityControllerIO createBackRoller(MechanismConfig config) {
+    if (ReplayLog.isReplaying()) {
+      return new VelocityControllerIOReplay("Intake/Back Roller");
+    }
+
     if (Robot.isReal() && RobotConstants.REAL_SUBSYSTEMS.contains(Subsystem.INTAKE)) {
-      return new VelocityControllerIOTalonFXPIDF(new CAN(40), config);
+      return new VelocityControllerIOTalonFXOnboard(new CAN(40), config);
     }
 
-    return new VelocityControllerIOSim();
+    return new VelocityControllerIOSimFlywheel(config, DCMotor.getFalcon500(1), 0.0005);
   }
 }
@@ -7,6 +7,9 @@ import edu.wpi.first.math.geometry.Twist2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.util.Units;
+import edu.wpi.first.networktables.StructPublisher;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardLayout;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
@@ -14,9 +17,20 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import frc.lib.Subsystem;
 import frc.lib.Telemetry;
+import frc.lib.TelemetryLog;
+import frc.lib.TelemetryPublisher;
+import frc.lib.TelemetryPublisher.Priority;
+import frc.lib.controller.SwerveModuleIO;
+import frc.lib.replay.ReplayLog;
 import frc.lib.sensor.GyroscopeIO;
 import frc.lib.sensor.GyroscopeIO.GyroscopeIOValues;
+import frc.lib.sensor.VisionIO;
+import frc.robot.RobotConstants;
+import frc.robot.odometry.OdometrySampleBuffer.OdometrySample;
+import frc.robot.odometry.PoseHistory.PoseSample;
+import frc.robot.odometry.VisionThread.VisionMeasurement;
 import frc.robot.swerve.Swerve;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 /** Odometry subsystem. */
@@ -25,6 +39,9 @@ public class Odometry extends Subsystem {
   /** Odometry subsystem singleton. */
   private static Odometry instance = null;
 
+  /** If true, the cameras are polled by the main loop instead of by the vision thread. */
+  private static boolean pollVisionInLoop = false;
+
   /** Gyroscope. */
   private final GyroscopeIO gyroscope;
 
@@ -40,14 +57,61 @@ public class Odometry extends Subsystem {
   /** Pose estimator using the swerve drive. */
   private final SwerveDrivePoseEstimator swervePoseEstimator;
 
+  /** Swerve modules. Used for converting odometry samples to swerve module positions. */
+  private final SwerveModuleIO[] swerveModules;
+
+  /** Odometry thread. Empty if the hardware cannot be sampled at a high frequency. */
+  private final Optional<OdometryThread> odometryThread;
+
+  /** Odometry sample. Reused between samples. */
+  private final OdometrySample odometrySample;
+
+  /** Swerve module positions of the odometry sample. Reused between samples. */
+  private final SwerveModulePosition[] odometrySamplePositions;
+
+  /** Odometry samples consumed this loop. Recorded for replay. */
+  private final OdometrySampleFrame odometrySampleFrame;
+
+  /** Struct serialization of the odometry sample frame. */
+  private final OdometrySampleFrameStruct odometrySampleFrameStruct;
+
+  /** Vision measurements fused this loop. Recorded for replay. */
+  private final VisionMeasurementFrame visionMeasurementFrame = new VisionMeasurementFrame();
+
+  /** History of the robot's position. Holds two seconds of odometry samples. */
+  private final PoseHistory poseHistory =
+      new PoseHistory((int) (2.0 * RobotConstants.ODOMETRY_RATE));
+
+  /** Sample of the position history. Reused between calls. */
+  private final PoseSample poseSample = new PoseSample();
+
+  /** Vision thread. */
+  private final VisionThread visionThread;
+
+  /** Publishes the position of the robot on the field. */
+  private final StructPublisher<Pose2d> positionPublisher =
+      Telemetry.addStructPublisher("Odometry", "Position", Pose2d.struct);
+
   /** Field. */
   private final Field2d field;
 
+  /** Velocity of the robot on the field. Reused between calls. */
+  private final Twist2d fieldRelativeVelocity = new Twist2d();
+
+  /**
+   * Simulated position of the robot on the field. Published by the main loop and read by the
+   * simulated cameras on the vision thread.
+   */
+  private volatile Pose2d simulatedPosition = new Pose2d();
+
   /** Initializes the odometry subsystem and configures odometry hardware. */
   private Odometry() {
     gyroscope = OdometryFactory.createGyroscope(this);
     gyroscope.configure();
 
+    TelemetryLog.addStruct("Odometry/Gyroscope", GyroscopeIOValues.struct, () -> gyroscopeValues);
+    ReplayLog.addInput("Odometry/Gyroscope", GyroscopeIOValues.struct, () -> gyroscopeValues);
+
     swerveModulePositionsSupplier = () -> Swerve.getInstance().getModulePositions();
 
     swerveChassisSpeedsSupplier = () -> Swerve.getInstance().getChassisSpeeds();
@@ -61,9 +125,51 @@ public class Odometry extends Subsystem {
             swerveModulePositionsSupplier.get(),
             new Pose2d());
 
+    swerveModules = Swerve.getInstance().getModules();
+
+    odometryThread = OdometryFactory.createOdometryThread(gyroscope, swerveModules);
+
+    odometrySample = new OdometrySample(swerveModules.length);
+
+    odometrySamplePositions = new SwerveModulePosition[swerveModules.length];
+
+    for (int i = 0; i < swerveModules.length; i++) {
+      odometrySamplePositions[i] = new SwerveModulePosition();
+    }
+
+    odometrySampleFrame = new OdometrySampleFrame(swerveModules.length);
+    odometrySampleFrameStruct = new OdometrySampleFrameStruct(swerveModules.length);
+
+    ReplayLog.addInput("Odometry/Samples", odometrySampleFrameStruct, () -> odometrySampleFrame);
+    ReplayLog.addInput(
+        "Odometry/Vision", VisionMeasurementFrame.struct, () -> visionMeasurementFrame);
+
+    odometryThread.ifPresent(OdometryThread::start);
+
+    VisionIO[] cameras = OdometryFactory.createCameras(this);
+
+    for (VisionIO camera : cameras) {
+      camera.configure();
+    }
+
+    visionThread = new VisionThread(cameras);
+
+    if (pollVisionInLoop == false) {
+      visionThread.start();
+    }
+
     field = new Field2d();
   }
 
+  /**
+   * Polls the cameras once per loop on the main loop instead of on the vision thread. Used when
+   * time is stepped manually, so that the measurements fused each loop do not depend on the host's
+   * load. Must be called before the odometry subsystem is created.
+   */
+  public static void pollVisionInLoop() {
+    pollVisionInLoop = true;
+  }
+
   /**
    * Gets the instance of the odometry subsystem.
    *
@@ -78,31 +184,203 @@ public class Odometry extends Subsystem {
   }
 
   @Override
-  public void periodic() {
+  public void subsystemPeriodic() {
     gyroscope.update(gyroscopeValues);
 
+    if (ReplayLog.isReplaying()) {
+      replaySamples();
+    } else if (odometryThread.isPresent()) {
+      updateFromSamples(odometryThread.get());
+    } else {
+      updateFromModules();
+    }
+
+    addVisionMeasurements();
+
+    field.setRobotPose(getPosition());
+
+    positionPublisher.set(getPosition());
+  }
+
+  @Override
+  public void simulationPeriodic() {
+    ChassisSpeeds chassisSpeeds = swerveChassisSpeedsSupplier.get();
+
+    simulatedPosition =
+        simulatedPosition.exp(
+            new Twist2d(
+                chassisSpeeds.vxMetersPerSecond * RobotConstants.PERIODIC_DURATION,
+                chassisSpeeds.vyMetersPerSecond * RobotConstants.PERIODIC_DURATION,
+                chassisSpeeds.omegaRadiansPerSecond * RobotConstants.PERIODIC_DURATION));
+  }
+
+  /** Fuses all vision measurements taken since the previous update into the pose estimator. */
+  private void addVisionMeasurements() {
+    if (ReplayLog.isReplaying()) {
+      ReplayLog.read("Odometry/Vision", VisionMeasurementFrame.struct)
+          .ifPresent(
+              frame -> {
+                for (int i = 0; i < frame.count; i++) {
+                  addVisionMeasurement(frame.get(i));
+                }
+              });
+
+      return;
+    }
+
+    if (pollVisionInLoop) {
+      visionThread.update();
+    }
+
+    visionMeasurementFrame.clear();
+
+    VisionMeasurement measurement;
+
+    while ((measurement = visionThread.poll()) != null) {
+      visionMeasurementFrame.add(measurement);
+
+      addVisionMeasurement(measurement);
+    }
+  }
+
+  /**
+   * Fuses a vision measurement into the pose estimator.
+   *
+   * @param measurement the vision measurement.
+   */
+  private void addVisionMeasurement(VisionMeasurement measurement) {
+    swervePoseEstimator.addVisionMeasurement(
+        measurement.position(), measurement.timestampSeconds(), measurement.standardDeviations());
+  }
+
+  /** Updates the pose estimator from the swerve module positions as of the latest sample. */
+  private void updateFromModules() {
+    odometrySampleFrame.sampled = false;
+    odometrySampleFrame.clear();
+
     swervePoseEstimator.update(
         Rotation2d.fromRotations(gyroscopeValues.yawRotations),
         swerveModulePositionsSupplier.get());
 
-    field.setRobotPose(getPosition());
+    addToHistory(Timer.getFPGATimestamp());
+  }
+
+  /**
+   * Replays all odometry samples taken since the previous update into the pose estimator.
+   *
+   * @param odometryThread the odometry thread taking the samples.
+   */
+  private void updateFromSamples(OdometryThread odometryThread) {
+    odometrySampleFrame.sampled = true;
+    odometrySampleFrame.clear();
+
+    while (odometryThread.read(odometrySample)) {
+      odometrySampleFrame.add(odometrySample);
+
+      addSample(odometrySample);
+    }
+
+    if (odometrySampleFrame.dropped > 0) {
+      DriverStation.reportWarning(
+          "Fused "
+              + odometrySampleFrame.dropped
+              + " odometry samples which were not recorded for replay",
+          false);
+    }
+  }
+
+  /**
+   * Replays the odometry samples recorded this loop into the pose estimator. If the robot had no
+   * odometry thread when the log was recorded, updates from the replayed swerve module positions.
+   */
+  private void replaySamples() {
+    Optional<OdometrySampleFrame> frame =
+        ReplayLog.read("Odometry/Samples", odometrySampleFrameStruct);
+
+    if (frame.isEmpty() || frame.get().sampled == false) {
+      updateFromModules();
+      return;
+    }
+
+    if (frame.get().dropped > 0) {
+      DriverStation.reportWarning(
+          "Replaying without " + frame.get().dropped + " odometry samples which were not recorded",
+          false);
+    }
+
+    for (int i = 0; i < frame.get().count; i++) {
+      frame.get().get(i, odometrySample);
+
+      addSample(odometrySample);
+    }
+  }
+
+  /**
+   * Updates the pose estimator with an odometry sample.
+   *
+   * @param sample the odometry sample.
+   */
+  private void addSample(OdometrySample sample) {
+    for (int i = 0; i < swerveModules.length; i++) {
+      swerveModules[i].toPosition(
+          sample.driveRotations[i], sample.steerRotations[i], odometrySamplePositions[i]);
+    }
+
+    swervePoseEstimator.updateWithTime(
+        sample.timestampSeconds,
+        Rotation2d.fromRotations(sample.yawRotations),
+        odometrySamplePositions);
+
+    addToHistory(sample.timestampSeconds);
+  }
+
+  /**
+   * Adds the current position estimate to the position history.
+   *
+   * @param timestampSeconds the timestamp of the position estimate in seconds.
+   */
+  private void addToHistory(double timestampSeconds) {
+    Pose2d position = getPosition();
+
+    poseHistory.add(
+        timestampSeconds, position.getX(), position.getY(), position.getRotation().getRadians());
   }
 
   @Override
   public void addToShuffleboard(ShuffleboardTab tab) {
     ShuffleboardLayout position = Telemetry.addColumn(tab, "Position");
 
-    position.addDouble("X (m)", () -> getPosition().getX());
-    position.addDouble("Y (m)", () -> getPosition().getY());
-    position.addDouble("Field Rotation (deg)", () -> getFieldRelativeHeading().getDegrees());
-    position.addDouble("Driver Rotation (deg)", () -> getDriverRelativeHeading().getDegrees());
+    TelemetryPublisher.addDouble(position, "X (m)", () -> getPosition().getX(), Priority.NORMAL)
+        .withDeadband(0.01);
+    TelemetryPublisher.addDouble(position, "Y (m)", () -> getPosition().getY(), Priority.NORMAL)
+        .withDeadband(0.01);
+    TelemetryPublisher.addDouble(
+            position,
+            "Field Rotation (deg)",
+            () -> getFieldRelativeHeading().getDegrees(),
+            Priority.NORMAL)
+        .withDeadband(0.5);
+    TelemetryPublisher.addDouble(
+            position,
+            "Driver Rotation (deg)",
+            () -> getDriverRelativeHeading().getDegrees(),
+            Priority.NORMAL)
+        .withDeadband(0.5);
 
     ShuffleboardLayout velocity = Telemetry.addColumn(tab, "Velocity");
 
-    velocity.addDouble("X Velocity (mps)", () -> getVelocity().dx);
-    velocity.addDouble("Y Velocity (mps)", () -> getVelocity().dy);
-    velocity.addDouble(
-        "Rotation Velocity (dps)", () -> Units.radiansToDegrees((getVelocity().dtheta)));
+    TelemetryPublisher.addDouble(
+            velocity, "X Velocity (mps)", () -> getVelocity().dx, Priority.DEBUG)
+        .withDeadband(0.01);
+    TelemetryPublisher.addDouble(
+            velocity, "Y Velocity (mps)", () -> getVelocity().dy, Priority.DEBUG)
+        .withDeadband(0.01);
+    TelemetryPublisher.addDouble(
+            velocity,
+            "Rotation Velocity (dps)",
+            () -> Units.radiansToDegrees((getVelocity().dtheta)),
+            Priority.DEBUG)
+        .withDeadband(0.5);
 
     ShuffleboardLayout field = Telemetry.addColumn(tab, "Field");
 
@@ -118,6 +396,44 @@ public class Odometry extends Subsystem {
     return swervePoseEstimator.getEstimatedPosition();
   }
 
+  /**
+   * Returns the simulated position of the robot on the field. Safe to call from any thread.
+   *
+   * @return the simulated position of the robot on the field.
+   */
+  public Pose2d getSimulatedPosition() {
+    return simulatedPosition;
+  }
+
+  /**
+   * Returns the position of the robot on the field at a past timestamp, interpolated from the
+   * position history. Timestamps outside of the history are clamped to the oldest or newest
+   * position.
+   *
+   * @param timestampSeconds the timestamp in seconds.
+   * @return the position of the robot on the field at the timestamp.
+   */
+  public Pose2d getPositionAt(double timestampSeconds) {
+    if (poseHistory.getSampleAt(timestampSeconds, poseSample) == false) {
+      return getPosition();
+    }
+
+    return new Pose2d(
+        poseSample.xMeters, poseSample.yMeters, new Rotation2d(poseSample.rotationRadians));
+  }
+
+  /**
+   * Writes the position of the robot on the field at a past timestamp into a sample, interpolated
+   * from the position history. Does not allocate.
+   *
+   * @param timestampSeconds the timestamp in seconds.
+   * @param sample the sample to write the position into.
+   * @return true if the position history held a position.
+   */
+  public boolean getPositionAt(double timestampSeconds, PoseSample sample) {
+    return poseHistory.getSampleAt(timestampSeconds, sample);
+  }
+
   /**
    * Returns the rotation of the robot on the field where zero is away from the blue alliance wall.
    *
@@ -150,6 +466,12 @@ public class Odometry extends Subsystem {
         Rotation2d.fromRotations(gyroscopeValues.yawRotations),
         swerveModulePositionsSupplier.get(),
         position);
+
+    // Positions from before the reset would be interpolated across the jump
+    poseHistory.clear();
+
+    // Setting the position places the simulated robot there too
+    simulatedPosition = position;
   }
 
   /**
@@ -176,7 +498,7 @@ public class Odometry extends Subsystem {
   }
 
   /**
-   * Gets the velocity of the robot on the field.
+   * Gets the velocity of the robot on the field. The returned velocity is reused between calls.
    *
    * @return the velocity of the robot on the field.
    */
@@ -185,10 +507,21 @@ public class Odometry extends Subsystem {
     // intialized
     if (swervePoseEstimator == null) return new Twist2d();
 
-    ChassisSpeeds chassisSpeeds = swerveChassisSpeedsSupplier.get();
+    toFieldRelativeVelocity(
+        swerveChassisSpeedsSupplier.get(), getPosition().getRotation(), fieldRelativeVelocity);
 
-    Rotation2d rotation = getPosition().getRotation();
+    return fieldRelativeVelocity;
+  }
 
+  /**
+   * Rotates robot-relative chassis speeds into a field-relative velocity.
+   *
+   * @param chassisSpeeds the robot-relative chassis speeds.
+   * @param rotation the rotation of the robot on the field.
+   * @param velocity the field-relative velocity to write into.
+   */
+  static void toFieldRelativeVelocity(
+      ChassisSpeeds chassisSpeeds, Rotation2d rotation, Twist2d velocity) {
     double xVelocityMetersPerSecond =
         chassisSpeeds.vxMetersPerSecond * rotation.getCos()
             - chassisSpeeds.vyMetersPerSecond * rotation.getSin();
@@ -196,7 +529,8 @@ public class Odometry extends Subsystem {
         chassisSpeeds.vxMetersPerSecond * rotation.getSin()
             + chassisSpeeds.vyMetersPerSecond * rotation.getCos();
 
-    return new Twist2d(
-        xVelocityMetersPerSecond, yVelocityMetersPerSecond, chassisSpeeds.omegaRadiansPerSecond);
+    velocity.dx = xVelocityMetersPerSecond;
+    velocity.dy = yVelocityMetersPerSecond;
+    velocity.dtheta = chassisSpeeds.omegaRadiansPerSecond;
   }
 }
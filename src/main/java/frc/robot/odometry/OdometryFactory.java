@@ -1,12 +1,25 @@
 package frc.robot.odometry;
 
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.math.geometry.Translation3d;
 import edu.wpi.first.math.util.Units;
+import frc.lib.SampledSignal;
+import frc.lib.controller.SwerveModuleIO;
+import frc.lib.replay.ReplayLog;
 import frc.lib.sensor.GyroscopeIO;
 import frc.lib.sensor.GyroscopeIOPigeon2;
+import frc.lib.sensor.GyroscopeIOReplay;
 import frc.lib.sensor.GyroscopeIOSim;
+import frc.lib.sensor.VisionIO;
+import frc.lib.sensor.VisionIOPhotonVision;
+import frc.lib.sensor.VisionIOSim;
 import frc.robot.Robot;
 import frc.robot.RobotConstants;
 import frc.robot.RobotConstants.Subsystem;
+import java.util.Optional;
 
 /** Factory for creating odometry subsystem hardware. */
 public class OdometryFactory {
@@ -17,9 +30,82 @@ public class OdometryFactory {
    * @return the gyroscope.
    */
   public static GyroscopeIO createGyroscope(Odometry odometry) {
+    if (ReplayLog.isReplaying()) {
+      return new GyroscopeIOReplay("Odometry/Gyroscope");
+    }
+
     if (Robot.isReal() && RobotConstants.REAL_SUBSYSTEMS.contains(Subsystem.ODOMETRY))
       return new GyroscopeIOPigeon2();
 
     return new GyroscopeIOSim(() -> Units.radiansToRotations(odometry.getVelocity().dtheta));
   }
+
+  /**
+   * Creates the cameras.
+   *
+   * @param odometry the odometry subsystem. Supplies the simulated position of the robot.
+   * @return the cameras.
+   */
+  public static VisionIO[] createCameras(Odometry odometry) {
+    // Odometry records the fused vision measurements, so replay needs no cameras
+    if (ReplayLog.isReplaying()) {
+      return new VisionIO[] {};
+    }
+
+    final AprilTagFieldLayout fieldLayout = AprilTagFields.k2024Crescendo.loadAprilTagLayoutField();
+
+    // Not measured on the robot yet, so vision stays out of the real subsystems until it is
+    final String cameraName = "Camera";
+
+    final Transform3d robotToCamera =
+        new Transform3d(
+            new Translation3d(Units.inchesToMeters(12.0), 0.0, Units.inchesToMeters(8.0)),
+            new Rotation3d(0.0, Units.degreesToRadians(-20.0), 0.0));
+
+    if (Robot.isReal() && RobotConstants.REAL_SUBSYSTEMS.contains(Subsystem.VISION))
+      return new VisionIO[] {new VisionIOPhotonVision(cameraName, robotToCamera, fieldLayout)};
+
+    // The simulated position only moves in simulation, so the robot would fuse a frozen pose
+    if (Robot.isSimulation() == false) {
+      return new VisionIO[] {};
+    }
+
+    return new VisionIO[] {
+      new VisionIOSim(cameraName, robotToCamera, fieldLayout, odometry::getSimulatedPosition)
+    };
+  }
+
+  /**
+   * Creates the odometry thread, if the gyroscope and every swerve module can be sampled at a high
+   * frequency.
+   *
+   * @param gyroscope the gyroscope.
+   * @param swerveModules the swerve modules.
+   * @return the odometry thread, if the hardware can be sampled at a high frequency.
+   */
+  public static Optional<OdometryThread> createOdometryThread(
+      GyroscopeIO gyroscope, SwerveModuleIO[] swerveModules) {
+    Optional<SampledSignal> yaw = gyroscope.getSampledYaw();
+
+    if (yaw.isEmpty()) {
+      return Optional.empty();
+    }
+
+    SampledSignal[] drivePositions = new SampledSignal[swerveModules.length];
+    SampledSignal[] steerPositions = new SampledSignal[swerveModules.length];
+
+    for (int i = 0; i < swerveModules.length; i++) {
+      Optional<SampledSignal> drivePosition = swerveModules[i].getSampledDrivePosition();
+      Optional<SampledSignal> steerPosition = swerveModules[i].getSampledSteerPosition();
+
+      if (drivePosition.isEmpty() || steerPosition.isEmpty()) {
+        return Optional.empty();
+      }
+
+      drivePositions[i] = drivePosition.get();
+      steerPositions[i] = steerPosition.get();
+    }
+
+    return Optional.of(new OdometryThread(yaw.get(), drivePositions, steerPositions));
+  }
 }
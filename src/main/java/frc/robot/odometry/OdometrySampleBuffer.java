@@ -0,0 +1,139 @@
+package frc.robot.odometry;
+
+/**
+ * Lock-free ring of timestamped odometry samples. Safe for one producer thread and one consumer
+ * thread.
+ */
+public class OdometrySampleBuffer {
+
+  /** Odometry sample. */
+  public static class OdometrySample {
+    /** Timestamp in seconds. */
+    public double timestampSeconds = 0.0;
+
+    /** Yaw in rotations. */
+    public double yawRotations = 0.0;
+
+    /** Drive positions in rotations. */
+    public final double[] driveRotations;
+
+    /** Steer positions in rotations. */
+    public final double[] steerRotations;
+
+    /**
+     * Creates a new odometry sample.
+     *
+     * @param modules the number of swerve modules.
+     */
+    public OdometrySample(int modules) {
+      driveRotations = new double[modules];
+      steerRotations = new double[modules];
+    }
+  }
+
+  /**
+   * Number of slots for samples. Always a power of two, and greater than the requested capacity
+   * since the slot being written by the producer cannot be read.
+   */
+  private final int capacity;
+
+  /** Number of swerve modules per sample. */
+  private final int modules;
+
+  /** Sample timestamps in seconds. */
+  private final double[] timestampsSeconds;
+
+  /** Sample yaws in rotations. */
+  private final double[] yawsRotations;
+
+  /** Sample drive positions in rotations, stored module-major for each sample. */
+  private final double[] drivesRotations;
+
+  /** Sample steer positions in rotations, stored module-major for each sample. */
+  private final double[] steersRotations;
+
+  /** Number of samples written. Only modified by the producer. */
+  private volatile long writeCount = 0;
+
+  /** Number of samples read. Only accessed by the consumer. */
+  private long readCount = 0;
+
+  /**
+   * Creates a new odometry sample buffer.
+   *
+   * @param capacity the minimum number of samples that can be held.
+   * @param modules the number of swerve modules per sample.
+   */
+  public OdometrySampleBuffer(int capacity, int modules) {
+    this.capacity = Integer.highestOneBit(Math.max(capacity, 1)) << 1;
+    this.modules = modules;
+
+    timestampsSeconds = new double[this.capacity];
+    yawsRotations = new double[this.capacity];
+    drivesRotations = new double[this.capacity * modules];
+    steersRotations = new double[this.capacity * modules];
+  }
+
+  /**
+   * Writes a sample. Must only be called by the producer.
+   *
+   * @param timestampSeconds the timestamp of the sample in seconds.
+   * @param yawRotations the yaw of the sample in rotations.
+   * @param driveRotations the drive positions of the sample in rotations.
+   * @param steerRotations the steer positions of the sample in rotations.
+   */
+  public void write(
+      double timestampSeconds,
+      double yawRotations,
+      double[] driveRotations,
+      double[] steerRotations) {
+    long index = writeCount;
+    int slot = (int) (index & (capacity - 1));
+
+    timestampsSeconds[slot] = timestampSeconds;
+    yawsRotations[slot] = yawRotations;
+    System.arraycopy(driveRotations, 0, drivesRotations, slot * modules, modules);
+    System.arraycopy(steerRotations, 0, steersRotations, slot * modules, modules);
+
+    // Publishes the sample to the consumer
+    writeCount = index + 1;
+  }
+
+  /**
+   * Reads the oldest unread sample. Must only be called by the consumer. If the producer has
+   * overrun the consumer, the overwritten samples are skipped.
+   *
+   * @param sample the sample to read into.
+   * @return true if a sample was read.
+   */
+  public boolean read(OdometrySample sample) {
+    while (true) {
+      long written = writeCount;
+
+      if (readCount >= written) {
+        return false;
+      }
+
+      // The producer may already be overwriting the oldest slot, so it is skipped as well
+      if (written - readCount >= capacity) {
+        readCount = written - capacity + 1;
+      }
+
+      int slot = (int) (readCount & (capacity - 1));
+
+      sample.timestampSeconds = timestampsSeconds[slot];
+      sample.yawRotations = yawsRotations[slot];
+      System.arraycopy(drivesRotations, slot * modules, sample.driveRotations, 0, modules);
+      System.arraycopy(steersRotations, slot * modules, sample.steerRotations, 0, modules);
+
+      // If the producer started overwriting this slot while it was being read, try again
+      if (writeCount - readCount >= capacity) {
+        continue;
+      }
+
+      readCount++;
+
+      return true;
+    }
+  }
+}
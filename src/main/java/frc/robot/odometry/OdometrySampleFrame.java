@@ -0,0 +1,98 @@
+package frc.robot.odometry;
+
+import frc.robot.odometry.OdometrySampleBuffer.OdometrySample;
+
+/**
+ * Odometry samples consumed during one loop. Recorded each loop so that replay fuses the same
+ * samples as the robot did.
+ */
+public class OdometrySampleFrame {
+
+  /**
+   * Maximum number of samples held. Further samples in the same loop are counted as dropped. Holds
+   * three loops of samples at the odometry rate, so samples are only dropped after a long loop
+   * overrun. Holding the odometry sample buffer's full capacity would log hundreds of samples
+   * every loop.
+   */
+  public static final int MAXIMUM_SAMPLES = 16;
+
+  /** Number of swerve modules per sample. */
+  public final int modules;
+
+  /**
+   * True if odometry was updated from the odometry thread's samples. If false, odometry was
+   * updated from the swerve module positions instead.
+   */
+  public boolean sampled = false;
+
+  /** Number of samples held. */
+  public int count = 0;
+
+  /**
+   * Number of samples which were consumed but did not fit. Replay of a frame with dropped samples
+   * does not match the robot.
+   */
+  public int dropped = 0;
+
+  /** Sample timestamps in seconds. */
+  public final double[] timestampsSeconds = new double[MAXIMUM_SAMPLES];
+
+  /** Sample yaws in rotations. */
+  public final double[] yawsRotations = new double[MAXIMUM_SAMPLES];
+
+  /** Sample drive positions in rotations, stored module-major for each sample. */
+  public final double[] drivesRotations;
+
+  /** Sample steer positions in rotations, stored module-major for each sample. */
+  public final double[] steersRotations;
+
+  /**
+   * Creates a new odometry sample frame.
+   *
+   * @param modules the number of swerve modules per sample.
+   */
+  public OdometrySampleFrame(int modules) {
+    this.modules = modules;
+
+    drivesRotations = new double[MAXIMUM_SAMPLES * modules];
+    steersRotations = new double[MAXIMUM_SAMPLES * modules];
+  }
+
+  /** Removes all samples. */
+  public void clear() {
+    count = 0;
+    dropped = 0;
+  }
+
+  /**
+   * Adds a sample if there is room, otherwise counts it as dropped.
+   *
+   * @param sample the sample to add.
+   */
+  public void add(OdometrySample sample) {
+    if (count == MAXIMUM_SAMPLES) {
+      dropped++;
+      return;
+    }
+
+    timestampsSeconds[count] = sample.timestampSeconds;
+    yawsRotations[count] = sample.yawRotations;
+    System.arraycopy(sample.driveRotations, 0, drivesRotations, count * modules, modules);
+    System.arraycopy(sample.steerRotations, 0, steersRotations, count * modules, modules);
+
+    count++;
+  }
+
+  /**
+   * Reads a held sample.
+   *
+   * @param index the index of the sample.
+   * @param sample the sample to read into.
+   */
+  public void get(int index, OdometrySample sample) {
+    sample.timestampSeconds = timestampsSeconds[index];
+    sample.yawRotations = yawsRotations[index];
+    System.arraycopy(drivesRotations, index * modules, sample.driveRotations, 0, modules);
+    System.arraycopy(steersRotations, index * modules, sample.steerRotations, 0, modules);
+  }
+}
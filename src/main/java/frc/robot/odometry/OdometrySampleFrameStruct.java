@@ -0,0 +1,102 @@
+package frc.robot.odometry;
+
+import edu.wpi.first.util.struct.Struct;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link OdometrySampleFrame}. */
+public class OdometrySampleFrameStruct implements Struct<OdometrySampleFrame> {
+
+  /** Number of swerve modules per sample. */
+  private final int modules;
+
+  /**
+   * Creates a new struct serialization of odometry sample frames.
+   *
+   * @param modules the number of swerve modules per sample.
+   */
+  public OdometrySampleFrameStruct(int modules) {
+    this.modules = modules;
+  }
+
+  @Override
+  public Class<OdometrySampleFrame> getTypeClass() {
+    return OdometrySampleFrame.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:OdometrySampleFrame";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeBool
+        + 2 * kSizeInt32
+        + kSizeDouble * OdometrySampleFrame.MAXIMUM_SAMPLES * (2 + 2 * modules);
+  }
+
+  @Override
+  public String getSchema() {
+    final int samples = OdometrySampleFrame.MAXIMUM_SAMPLES;
+
+    return "bool sampled;"
+        + "int32 count;"
+        + "int32 dropped;"
+        + ("double timestampsSeconds[" + samples + "];")
+        + ("double yawsRotations[" + samples + "];")
+        + ("double drivesRotations[" + samples * modules + "];")
+        + ("double steersRotations[" + samples * modules + "]");
+  }
+
+  @Override
+  public OdometrySampleFrame unpack(ByteBuffer bb) {
+    OdometrySampleFrame frame = new OdometrySampleFrame(modules);
+
+    frame.sampled = bb.get() != 0;
+    frame.count = bb.getInt();
+    frame.dropped = bb.getInt();
+
+    unpackArray(bb, frame.timestampsSeconds);
+    unpackArray(bb, frame.yawsRotations);
+    unpackArray(bb, frame.drivesRotations);
+    unpackArray(bb, frame.steersRotations);
+
+    return frame;
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, OdometrySampleFrame frame) {
+    bb.put((byte) (frame.sampled ? 1 : 0));
+    bb.putInt(frame.count);
+    bb.putInt(frame.dropped);
+
+    packArray(bb, frame.timestampsSeconds);
+    packArray(bb, frame.yawsRotations);
+    packArray(bb, frame.drivesRotations);
+    packArray(bb, frame.steersRotations);
+  }
+
+  /**
+   * Unpacks an array of doubles.
+   *
+   * @param bb the buffer to unpack from.
+   * @param array the array to unpack into.
+   */
+  private static void unpackArray(ByteBuffer bb, double[] array) {
+    for (int i = 0; i < array.length; i++) {
+      array[i] = bb.getDouble();
+    }
+  }
+
+  /**
+   * Packs an array of doubles.
+   *
+   * @param bb the buffer to pack into.
+   * @param array the array to pack.
+   */
+  private static void packArray(ByteBuffer bb, double[] array) {
+    for (double value : array) {
+      bb.putDouble(value);
+    }
+  }
+}
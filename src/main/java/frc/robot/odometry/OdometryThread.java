@@ -0,0 +1,118 @@
+package frc.robot.odometry;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusCode;
+import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.Timer;
+import frc.lib.SampledSignal;
+import frc.robot.RobotConstants;
+import frc.robot.odometry.OdometrySampleBuffer.OdometrySample;
+
+/** Samples the gyroscope and swerve module signals on a background thread. */
+public class OdometryThread extends Thread {
+
+  /** Gyroscope yaw signal in degrees. */
+  private final SampledSignal yaw;
+
+  /** Swerve module drive position signals in rotations. */
+  private final SampledSignal[] drivePositions;
+
+  /** Swerve module steer position signals in rotations. */
+  private final SampledSignal[] steerPositions;
+
+  /** All signals waited on by the thread. */
+  private final BaseStatusSignal[] signals;
+
+  /** Sampled drive positions in rotations. Reused between samples. */
+  private final double[] driveRotations;
+
+  /** Sampled steer positions in rotations. Reused between samples. */
+  private final double[] steerRotations;
+
+  /** Samples waiting to be consumed. */
+  private final OdometrySampleBuffer samples;
+
+  /**
+   * Creates a new odometry thread.
+   *
+   * @param yaw the gyroscope yaw signal in degrees.
+   * @param drivePositions the swerve module drive position signals in rotations.
+   * @param steerPositions the swerve module steer position signals in rotations.
+   */
+  public OdometryThread(
+      SampledSignal yaw, SampledSignal[] drivePositions, SampledSignal[] steerPositions) {
+    this.yaw = yaw;
+    this.drivePositions = drivePositions;
+    this.steerPositions = steerPositions;
+
+    final int modules = drivePositions.length;
+
+    signals = new BaseStatusSignal[2 + 4 * modules];
+
+    signals[0] = yaw.value();
+    signals[1] = yaw.slope();
+
+    for (int i = 0; i < modules; i++) {
+      signals[2 + 4 * i] = drivePositions[i].value();
+      signals[3 + 4 * i] = drivePositions[i].slope();
+      signals[4 + 4 * i] = steerPositions[i].value();
+      signals[5 + 4 * i] = steerPositions[i].slope();
+    }
+
+    driveRotations = new double[modules];
+    steerRotations = new double[modules];
+
+    // Holds a full second of samples in case the main loop stalls
+    samples = new OdometrySampleBuffer((int) RobotConstants.ODOMETRY_RATE, modules);
+
+    BaseStatusSignal.setUpdateFrequencyForAll(RobotConstants.ODOMETRY_RATE, signals);
+
+    setName("Odometry");
+    setDaemon(true);
+  }
+
+  @Override
+  public void run() {
+    while (true) {
+      StatusCode status = BaseStatusSignal.waitForAll(2.0 / RobotConstants.ODOMETRY_RATE, signals);
+
+      if (status.isOK() == false) {
+        continue;
+      }
+
+      // Estimate when the signals were measured using the average signal latency
+      double totalLatencySeconds = 0.0;
+
+      for (BaseStatusSignal signal : signals) {
+        totalLatencySeconds += signal.getTimestamp().getLatency();
+      }
+
+      double timestampSeconds = Timer.getFPGATimestamp() - totalLatencySeconds / signals.length;
+
+      double yawRotations =
+          Units.degreesToRotations(
+              BaseStatusSignal.getLatencyCompensatedValue(yaw.value(), yaw.slope()));
+
+      for (int i = 0; i < driveRotations.length; i++) {
+        driveRotations[i] =
+            BaseStatusSignal.getLatencyCompensatedValue(
+                drivePositions[i].value(), drivePositions[i].slope());
+        steerRotations[i] =
+            BaseStatusSignal.getLatencyCompensatedValue(
+                steerPositions[i].value(), steerPositions[i].slope());
+      }
+
+      samples.write(timestampSeconds, yawRotations, driveRotations, steerRotations);
+    }
+  }
+
+  /**
+   * Reads the oldest unread sample. Must only be called from the main thread.
+   *
+   * @param sample the sample to read into.
+   * @return true if a sample was read.
+   */
+  public boolean read(OdometrySample sample) {
+    return samples.read(sample);
+  }
+}
@@ -0,0 +1,156 @@
+package frc.robot.odometry;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * Fixed-capacity ring of timestamped robot positions. Backed by primitive arrays, so adding and
+ * looking up positions does not allocate.
+ */
+public class PoseHistory {
+
+  /** Robot position at a point in time. */
+  public static class PoseSample {
+    /** X position in meters. */
+    public double xMeters = 0.0;
+
+    /** Y position in meters. */
+    public double yMeters = 0.0;
+
+    /** Rotation in radians. */
+    public double rotationRadians = 0.0;
+  }
+
+  /** Number of positions that can be held. Always a power of two. */
+  private final int capacity;
+
+  /** Position timestamps in seconds. Increasing from the oldest to the newest position. */
+  private final double[] timestampsSeconds;
+
+  /** Position x coordinates in meters. */
+  private final double[] xsMeters;
+
+  /** Position y coordinates in meters. */
+  private final double[] ysMeters;
+
+  /** Position rotations in radians. */
+  private final double[] rotationsRadians;
+
+  /** Index of the oldest position. */
+  private int start = 0;
+
+  /** Number of positions held. */
+  private int size = 0;
+
+  /**
+   * Creates a new pose history.
+   *
+   * @param minimumCapacity the minimum number of positions to hold. Rounded up to a power of two.
+   */
+  public PoseHistory(int minimumCapacity) {
+    capacity = Integer.highestOneBit(Math.max(minimumCapacity - 1, 1)) << 1;
+
+    timestampsSeconds = new double[capacity];
+    xsMeters = new double[capacity];
+    ysMeters = new double[capacity];
+    rotationsRadians = new double[capacity];
+  }
+
+  /**
+   * Returns the index of the position at an age, where zero is the oldest position.
+   *
+   * @param age the age of the position.
+   * @return the index of the position.
+   */
+  private int indexOf(int age) {
+    return (start + age) & (capacity - 1);
+  }
+
+  /**
+   * Adds a position, replacing the oldest position if full. Positions added with a timestamp older
+   * than the newest position are ignored.
+   *
+   * @param timestampSeconds the timestamp of the position in seconds.
+   * @param xMeters the x position in meters.
+   * @param yMeters the y position in meters.
+   * @param rotationRadians the rotation in radians.
+   */
+  public void add(double timestampSeconds, double xMeters, double yMeters, double rotationRadians) {
+    if (size > 0 && timestampSeconds <= timestampsSeconds[indexOf(size - 1)]) {
+      return;
+    }
+
+    int index;
+
+    if (size == capacity) {
+      index = start;
+      start = indexOf(1);
+    } else {
+      index = indexOf(size);
+      size++;
+    }
+
+    timestampsSeconds[index] = timestampSeconds;
+    xsMeters[index] = xMeters;
+    ysMeters[index] = yMeters;
+    rotationsRadians[index] = rotationRadians;
+  }
+
+  /** Removes all positions. */
+  public void clear() {
+    start = 0;
+    size = 0;
+  }
+
+  /**
+   * Looks up the position at a timestamp, interpolating between the nearest held positions.
+   * Timestamps outside of the history are clamped to the oldest or newest position.
+   *
+   * @param timestampSeconds the timestamp in seconds.
+   * @param sample the sample to write the position into.
+   * @return true if the history held a position.
+   */
+  public boolean getSampleAt(double timestampSeconds, PoseSample sample) {
+    if (size == 0) {
+      return false;
+    }
+
+    // Find the oldest position at or after the timestamp
+    int low = 0;
+    int high = size - 1;
+
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+
+      if (timestampsSeconds[indexOf(middle)] < timestampSeconds) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    int after = indexOf(low);
+
+    if (low == 0 || timestampsSeconds[after] < timestampSeconds) {
+      sample.xMeters = xsMeters[after];
+      sample.yMeters = ysMeters[after];
+      sample.rotationRadians = rotationsRadians[after];
+
+      return true;
+    }
+
+    int before = indexOf(low - 1);
+
+    double t =
+        (timestampSeconds - timestampsSeconds[before])
+            / (timestampsSeconds[after] - timestampsSeconds[before]);
+
+    sample.xMeters = MathUtil.interpolate(xsMeters[before], xsMeters[after], t);
+    sample.yMeters = MathUtil.interpolate(ysMeters[before], ysMeters[after], t);
+    sample.rotationRadians =
+        MathUtil.angleModulus(
+            rotationsRadians[before]
+                + MathUtil.angleModulus(rotationsRadians[after] - rotationsRadians[before]) * t);
+
+    return true;
+  }
+}
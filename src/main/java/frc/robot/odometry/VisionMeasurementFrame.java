@@ -0,0 +1,85 @@
+package frc.robot.odometry;
+
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import frc.robot.odometry.VisionThread.VisionMeasurement;
+
+/**
+ * Vision measurements fused during one loop. Recorded each loop so that replay fuses the same
+ * measurements as the robot did.
+ */
+public class VisionMeasurementFrame {
+
+  /** Struct serialization of vision measurement frames. */
+  public static final VisionMeasurementFrameStruct struct = new VisionMeasurementFrameStruct();
+
+  /** Maximum number of measurements held. Further measurements in a loop are not recorded. */
+  public static final int MAXIMUM_MEASUREMENTS = 8;
+
+  /** Number of measurements held. */
+  public int count = 0;
+
+  /** Measured x positions in meters. */
+  public final double[] xsMeters = new double[MAXIMUM_MEASUREMENTS];
+
+  /** Measured y positions in meters. */
+  public final double[] ysMeters = new double[MAXIMUM_MEASUREMENTS];
+
+  /** Measured rotations in radians. */
+  public final double[] rotationsRadians = new double[MAXIMUM_MEASUREMENTS];
+
+  /** Measurement timestamps in seconds. */
+  public final double[] timestampsSeconds = new double[MAXIMUM_MEASUREMENTS];
+
+  /** Standard deviations of the measured x positions in meters. */
+  public final double[] xStandardDeviations = new double[MAXIMUM_MEASUREMENTS];
+
+  /** Standard deviations of the measured y positions in meters. */
+  public final double[] yStandardDeviations = new double[MAXIMUM_MEASUREMENTS];
+
+  /** Standard deviations of the measured rotations in radians. */
+  public final double[] rotationStandardDeviations = new double[MAXIMUM_MEASUREMENTS];
+
+  /** Removes all measurements. */
+  public void clear() {
+    count = 0;
+  }
+
+  /**
+   * Adds a measurement, if there is room.
+   *
+   * @param measurement the measurement to add.
+   */
+  public void add(VisionMeasurement measurement) {
+    if (count == MAXIMUM_MEASUREMENTS) {
+      return;
+    }
+
+    xsMeters[count] = measurement.position().getX();
+    ysMeters[count] = measurement.position().getY();
+    rotationsRadians[count] = measurement.position().getRotation().getRadians();
+    timestampsSeconds[count] = measurement.timestampSeconds();
+    xStandardDeviations[count] = measurement.standardDeviations().get(0, 0);
+    yStandardDeviations[count] = measurement.standardDeviations().get(1, 0);
+    rotationStandardDeviations[count] = measurement.standardDeviations().get(2, 0);
+
+    count++;
+  }
+
+  /**
+   * Returns a held measurement.
+   *
+   * @param index the index of the measurement.
+   * @return the measurement.
+   */
+  public VisionMeasurement get(int index) {
+    return new VisionMeasurement(
+        new Pose2d(xsMeters[index], ysMeters[index], new Rotation2d(rotationsRadians[index])),
+        timestampsSeconds[index],
+        VecBuilder.fill(
+            xStandardDeviations[index],
+            yStandardDeviations[index],
+            rotationStandardDeviations[index]));
+  }
+}
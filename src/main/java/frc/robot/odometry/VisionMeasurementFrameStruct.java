@@ -0,0 +1,91 @@
+package frc.robot.odometry;
+
+import edu.wpi.first.util.struct.Struct;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link VisionMeasurementFrame}. */
+public class VisionMeasurementFrameStruct implements Struct<VisionMeasurementFrame> {
+
+  @Override
+  public Class<VisionMeasurementFrame> getTypeClass() {
+    return VisionMeasurementFrame.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:VisionMeasurementFrame";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeInt32 + kSizeDouble * VisionMeasurementFrame.MAXIMUM_MEASUREMENTS * 7;
+  }
+
+  @Override
+  public String getSchema() {
+    final int measurements = VisionMeasurementFrame.MAXIMUM_MEASUREMENTS;
+
+    return "int32 count;"
+        + ("double xsMeters[" + measurements + "];")
+        + ("double ysMeters[" + measurements + "];")
+        + ("double rotationsRadians[" + measurements + "];")
+        + ("double timestampsSeconds[" + measurements + "];")
+        + ("double xStandardDeviations[" + measurements + "];")
+        + ("double yStandardDeviations[" + measurements + "];")
+        + ("double rotationStandardDeviations[" + measurements + "]");
+  }
+
+  @Override
+  public VisionMeasurementFrame unpack(ByteBuffer bb) {
+    VisionMeasurementFrame frame = new VisionMeasurementFrame();
+
+    frame.count = bb.getInt();
+
+    unpackArray(bb, frame.xsMeters);
+    unpackArray(bb, frame.ysMeters);
+    unpackArray(bb, frame.rotationsRadians);
+    unpackArray(bb, frame.timestampsSeconds);
+    unpackArray(bb, frame.xStandardDeviations);
+    unpackArray(bb, frame.yStandardDeviations);
+    unpackArray(bb, frame.rotationStandardDeviations);
+
+    return frame;
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, VisionMeasurementFrame frame) {
+    bb.putInt(frame.count);
+
+    packArray(bb, frame.xsMeters);
+    packArray(bb, frame.ysMeters);
+    packArray(bb, frame.rotationsRadians);
+    packArray(bb, frame.timestampsSeconds);
+    packArray(bb, frame.xStandardDeviations);
+    packArray(bb, frame.yStandardDeviations);
+    packArray(bb, frame.rotationStandardDeviations);
+  }
+
+  /**
+   * Unpacks an array of doubles.
+   *
+   * @param bb the buffer to unpack from.
+   * @param array the array to unpack into.
+   */
+  private static void unpackArray(ByteBuffer bb, double[] array) {
+    for (int i = 0; i < array.length; i++) {
+      array[i] = bb.getDouble();
+    }
+  }
+
+  /**
+   * Packs an array of doubles.
+   *
+   * @param bb the buffer to pack into.
+   * @param array the array to pack.
+   */
+  private static void packArray(ByteBuffer bb, double[] array) {
+    for (double value : array) {
+      bb.putDouble(value);
+    }
+  }
+}
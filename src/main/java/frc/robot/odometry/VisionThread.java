@@ -0,0 +1,149 @@
+package frc.robot.odometry;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import frc.lib.sensor.VisionIO;
+import frc.lib.sensor.VisionIO.VisionIOValues;
+import frc.robot.RobotConstants;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/** Polls the cameras and estimates the position of the robot on a background thread. */
+public class VisionThread extends Thread {
+
+  /** Timestamped vision measurement of the position of the robot. */
+  public record VisionMeasurement(
+      Pose2d position, double timestampSeconds, Matrix<N3, N1> standardDeviations) {
+
+    /**
+     * Creates a new vision measurement.
+     *
+     * @param position the measured position of the robot on the field.
+     * @param timestampSeconds the timestamp of the measurement in seconds.
+     * @param standardDeviations the standard deviations of the measured x, y, and rotation.
+     */
+    public VisionMeasurement {
+      Objects.requireNonNull(position);
+      Objects.requireNonNull(standardDeviations);
+    }
+  }
+
+  /** Standard deviation of the x and y of a single tag measured one meter away, in meters. */
+  private static final double XY_STANDARD_DEVIATION = 0.05;
+
+  /** Standard deviation of the rotation of multiple tags measured one meter away, in radians. */
+  private static final double ROTATION_STANDARD_DEVIATION = 0.1;
+
+  /**
+   * Minimum scale of the standard deviations. Keeps close tags from being trusted more than the
+   * camera calibration allows.
+   */
+  private static final double MINIMUM_STANDARD_DEVIATION_SCALE = 0.25;
+
+  /** Maximum distance of a single tag which is trusted, in meters. */
+  private static final double MAXIMUM_SINGLE_TAG_DISTANCE = 4.0;
+
+  /** Cameras. */
+  private final VisionIO[] cameras;
+
+  /** Camera values. */
+  private final VisionIOValues[] cameraValues;
+
+  /** Timestamp of each camera's previous estimate in seconds. */
+  private final double[] previousTimestampsSeconds;
+
+  /** Measurements waiting to be consumed. */
+  private final ConcurrentLinkedQueue<VisionMeasurement> measurements =
+      new ConcurrentLinkedQueue<>();
+
+  /**
+   * Creates a new vision thread.
+   *
+   * @param cameras the cameras.
+   */
+  public VisionThread(VisionIO[] cameras) {
+    this.cameras = cameras;
+
+    cameraValues = new VisionIOValues[cameras.length];
+    previousTimestampsSeconds = new double[cameras.length];
+
+    for (int i = 0; i < cameras.length; i++) {
+      cameraValues[i] = new VisionIOValues();
+    }
+
+    setName("Vision");
+    setDaemon(true);
+  }
+
+  /**
+   * Returns the standard deviations of an estimate. Trust decreases with the square of the distance
+   * to the tags and increases with the number of tags, up to a limit. The rotation of a single tag
+   * is not trusted.
+   *
+   * @param values the camera values of the estimate.
+   * @return the standard deviations of the estimate's x, y, and rotation.
+   */
+  private static Matrix<N3, N1> getStandardDeviations(VisionIOValues values) {
+    double scale =
+        Math.max(
+            values.averageTagDistanceMeters * values.averageTagDistanceMeters / values.tagCount,
+            MINIMUM_STANDARD_DEVIATION_SCALE);
+
+    double xyStandardDeviation = XY_STANDARD_DEVIATION * scale;
+    double rotationStandardDeviation =
+        values.tagCount > 1 ? ROTATION_STANDARD_DEVIATION * scale : Double.MAX_VALUE;
+
+    return VecBuilder.fill(xyStandardDeviation, xyStandardDeviation, rotationStandardDeviation);
+  }
+
+  @Override
+  public void run() {
+    while (true) {
+      update();
+
+      try {
+        Thread.sleep((long) (RobotConstants.PERIODIC_DURATION * 1000));
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Polls each camera once and queues its new measurement, if any. Called by the thread while it
+   * runs, or directly by the main loop if the thread is not started.
+   */
+  public void update() {
+    for (int i = 0; i < cameras.length; i++) {
+      VisionIOValues values = cameraValues[i];
+
+      cameras[i].update(values);
+
+      if (values.hasEstimate == false || values.timestampSeconds == previousTimestampsSeconds[i]) {
+        continue;
+      }
+
+      previousTimestampsSeconds[i] = values.timestampSeconds;
+
+      if (values.tagCount == 1 && values.averageTagDistanceMeters > MAXIMUM_SINGLE_TAG_DISTANCE) {
+        continue;
+      }
+
+      measurements.add(
+          new VisionMeasurement(
+              values.position, values.timestampSeconds, getStandardDeviations(values)));
+    }
+  }
+
+  /**
+   * Returns the oldest measurement waiting to be consumed, or null if there are none.
+   *
+   * @return the oldest measurement waiting to be consumed, or null if there are none.
+   */
+  public VisionMeasurement poll() {
+    return measurements.poll();
+  }
+}
@@ -3,10 +3,12 @@ package frc.robot.shooter;
 import edu.wpi.first.math.filter.SlewRateLimiter;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import frc.lib.Subsystem;
+import frc.lib.TelemetryLog;
 import frc.lib.config.MechanismConfig;
 import frc.lib.config.MechanismConfig.MechanismConfigBuilder;
 import frc.lib.controller.VelocityControllerIO;
 import frc.lib.controller.VelocityControllerIO.VelocityControllerIOValues;
+import frc.lib.replay.ReplayLog;
 
 /** Shooter subsystem. */
 public class Shooter extends Subsystem {
@@ -75,6 +77,10 @@ public class Shooter extends Subsystem {
 
     flywheelValues = new VelocityControllerIOValues();
 
+    TelemetryLog.addStruct(
+        "Shooter/Flywheel", VelocityControllerIOValues.struct, () -> flywheelValues);
+    ReplayLog.addInput("Shooter/Flywheel", VelocityControllerIOValues.struct, () -> flywheelValues);
+
     flywheelAccelerationLimiter = flywheelConfig.motionProfileConfig().createAccelerationLimiter();
 
     serializer = ShooterFactory.createSerializer(serializerConfig);
@@ -82,6 +88,11 @@ public class Shooter extends Subsystem {
 
     serializerValues = new VelocityControllerIOValues();
 
+    TelemetryLog.addStruct(
+        "Shooter/Serializer", VelocityControllerIOValues.struct, () -> serializerValues);
+    ReplayLog.addInput(
+        "Shooter/Serializer", VelocityControllerIOValues.struct, () -> serializerValues);
+
     serializerAccelerationLimiter =
         serializerConfig.motionProfileConfig().createAccelerationLimiter();
 
@@ -103,7 +114,7 @@ public class Shooter extends Subsystem {
   }
 
   @Override
-  public void periodic() {
+  public void subsystemPeriodic() {
     flywheel.update(flywheelValues);
     serializer.update(serializerValues);
 
@@ -1,10 +1,13 @@
 package frc.robot.shooter;
 
+import edu.wpi.first.math.system.plant.DCMotor;
 import frc.lib.CAN;
 import frc.lib.config.MechanismConfig;
 import frc.lib.controller.VelocityControllerIO;
-import frc.lib.controller.VelocityControllerIOSim;
-import frc.lib.controller.VelocityControllerIOTalonFXPIDF;
+import frc.lib.controller.VelocityControllerIOReplay;
+import frc.lib.controller.VelocityControllerIOSimFlywheel;
+import frc.lib.controller.VelocityControllerIOTalonFXOnboard;
+import frc.lib.replay.ReplayLog;
 import frc.robot.Robot;
 import frc.robot.RobotConstants;
 import frc.robot.RobotConstants.Subsystem;
@@ -19,11 +22,15 @@ public class ShooterFactory {
    * @return the flywheel controller.
    */
   public static VelocityControllerIO createFlywheel(MechanismConfig config) {
+    if (ReplayLog.isReplaying()) {
+      return new VelocityControllerIOReplay("Shooter/Flywheel");
+    }
+
     if (Robot.isReal() && RobotConstants.REAL_SUBSYSTEMS.contains(Subsystem.SHOOTER)) {
-      return new VelocityControllerIOTalonFXPIDF(new CAN(44), config);
+      return new VelocityControllerIOTalonFXOnboard(new CAN(44), config);
     }
 
-    return new VelocityControllerIOSim();
+    return new VelocityControllerIOSimFlywheel(config, DCMotor.getFalcon500(1), 0.0015);
   }
 
   /**
@@ -33,10 +40,14 @@ public class ShooterFactory {
    * @return the serializer controller.
    */
   public static VelocityControllerIO createSerializer(MechanismConfig config) {
+    if (ReplayLog.isReplaying()) {
+      return new VelocityControllerIOReplay("Shooter/Serializer");
+    }
+
     if (Robot.isReal() && RobotConstants.REAL_SUBSYSTEMS.contains(Subsystem.SHOOTER)) {
-      return new VelocityControllerIOTalonFXPIDF(new CAN(42), config);
+      return new VelocityControllerIOTalonFXOnboard(new CAN(42), config);
     }
 
-    return new VelocityControllerIOSim();
+    return new VelocityControllerIOSimFlywheel(config, DCMotor.getFalcon500(1), 0.0005);
   }
 }
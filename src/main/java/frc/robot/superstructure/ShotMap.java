@@ -0,0 +1,123 @@
+package frc.robot.superstructure;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.util.Units;
+import java.util.Arrays;
+
+/**
+ * Map from distance to the shot that scores from that distance. Shots between distances are
+ * linearly interpolated, and shots outside of the map are clamped to the nearest distance. Backed
+ * by sorted primitive arrays, so looking up a shot is O(log n) and does not allocate.
+ */
+public class ShotMap {
+
+  /** Shot for a distance. */
+  public static class Shot {
+    /** Shoulder position in rotations. */
+    public double shoulderRotations = 0.0;
+
+    /** Flywheel velocity in rotations per second. */
+    public double flywheelVelocityRotationsPerSecond = 0.0;
+
+    /** Time of flight of the note in seconds. */
+    public double timeOfFlightSeconds = 0.0;
+  }
+
+  /** Distances in meters. Strictly increasing. */
+  private final double[] distancesMeters;
+
+  /** Shoulder positions in rotations. */
+  private final double[] shoulderRotations;
+
+  /** Flywheel velocities in rotations per second. */
+  private final double[] flywheelVelocitiesRotationsPerSecond;
+
+  /** Times of flight in seconds. */
+  private final double[] timesOfFlightSeconds;
+
+  /**
+   * Creates a new shot map.
+   *
+   * @param shots rows of distance in meters, shoulder position in degrees, flywheel velocity in
+   *     rotations per second, and time of flight in seconds. Must be sorted by strictly increasing
+   *     distance.
+   */
+  public ShotMap(double[][] shots) {
+    if (shots.length == 0) {
+      throw new IllegalArgumentException("Shot map must have at least one shot");
+    }
+
+    distancesMeters = new double[shots.length];
+    shoulderRotations = new double[shots.length];
+    flywheelVelocitiesRotationsPerSecond = new double[shots.length];
+    timesOfFlightSeconds = new double[shots.length];
+
+    for (int i = 0; i < shots.length; i++) {
+      if (i > 0 && shots[i][0] <= shots[i - 1][0]) {
+        throw new IllegalArgumentException("Shot map distances must be strictly increasing");
+      }
+
+      distancesMeters[i] = shots[i][0];
+      shoulderRotations[i] = Units.degreesToRotations(shots[i][1]);
+      flywheelVelocitiesRotationsPerSecond[i] = shots[i][2];
+      timesOfFlightSeconds[i] = shots[i][3];
+    }
+  }
+
+  /**
+   * Gets the shot for a distance.
+   *
+   * @param distanceMeters the distance in meters.
+   * @param shot the shot to write into.
+   */
+  public void getShot(double distanceMeters, Shot shot) {
+    int last = distancesMeters.length - 1;
+
+    if (distanceMeters <= distancesMeters[0]) {
+      set(0, 0, 0.0, shot);
+      return;
+    }
+
+    if (distanceMeters >= distancesMeters[last]) {
+      set(last, last, 0.0, shot);
+      return;
+    }
+
+    int index = Arrays.binarySearch(distancesMeters, distanceMeters);
+
+    if (index >= 0) {
+      set(index, index, 0.0, shot);
+      return;
+    }
+
+    // Insertion point is the first distance greater than the distance
+    int after = -index - 1;
+    int before = after - 1;
+
+    double t =
+        (distanceMeters - distancesMeters[before])
+            / (distancesMeters[after] - distancesMeters[before]);
+
+    set(before, after, t, shot);
+  }
+
+  /**
+   * Sets a shot to the interpolation between two shots in the map.
+   *
+   * @param before the index of the shot to interpolate from.
+   * @param after the index of the shot to interpolate to.
+   * @param t the fraction of the way from the first shot to the second shot.
+   * @param shot the shot to write into.
+   */
+  private void set(int before, int after, double t, Shot shot) {
+    shot.shoulderRotations =
+        MathUtil.interpolate(shoulderRotations[before], shoulderRotations[after], t);
+    shot.flywheelVelocityRotationsPerSecond =
+        MathUtil.interpolate(
+            flywheelVelocitiesRotationsPerSecond[before],
+            flywheelVelocitiesRotationsPerSecond[after],
+            t);
+    shot.timeOfFlightSeconds =
+        MathUtil.interpolate(timesOfFlightSeconds[before], timesOfFlightSeconds[after], t);
+  }
+}
@@ -0,0 +1,128 @@
+package frc.robot.superstructure;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import frc.robot.superstructure.ShotMap.Shot;
+
+/**
+ * Solves for the shot that scores into a target while the robot is moving. The note keeps the
+ * robot's field-relative velocity after it leaves the shooter, so the robot aims at a virtual
+ * target which is offset from the target by the distance the note drifts during its time of
+ * flight.
+ *
+ * <p>The time of flight depends on the distance to the virtual target, which depends on the time
+ * of flight, so the solver iterates a fixed number of times per loop. Each iteration starts from
+ * the previous loop's solution, so the solution keeps converging while the robot moves smoothly.
+ */
+public class ShotSolver {
+
+  /** Maximum number of iterations per solve. */
+  static final int MAXIMUM_ITERATIONS = 5;
+
+  /** Change in time of flight which the solution is considered converged at, in seconds. */
+  private static final double CONVERGED_TIME_OF_FLIGHT_SECONDS = 0.001;
+
+  /** Shot map to look up shots and times of flight from. */
+  private final ShotMap shotMap;
+
+  /** Direction the shooter faces relative to the robot's heading. */
+  private final Rotation2d shooterDirection;
+
+  /** Solved shot. Reused between solves. */
+  private final Shot shot = new Shot();
+
+  /** Solved time of flight in seconds. Seeds the next solve. */
+  private double timeOfFlightSeconds = 0.0;
+
+  /** Solved virtual target position in meters. */
+  private double virtualTargetX = 0.0, virtualTargetY = 0.0;
+
+  /** Solved robot heading. */
+  private Rotation2d heading = new Rotation2d();
+
+  /** Number of iterations used by the last solve. */
+  private int iterations = 0;
+
+  /**
+   * Creates a new shot solver.
+   *
+   * @param shotMap the shot map to look up shots and times of flight from.
+   * @param shooterDirection the direction the shooter faces relative to the robot's heading.
+   */
+  public ShotSolver(ShotMap shotMap, Rotation2d shooterDirection) {
+    this.shotMap = shotMap;
+    this.shooterDirection = shooterDirection;
+  }
+
+  /**
+   * Solves for the shot that scores into a target from a moving robot.
+   *
+   * @param robotPosition the position of the robot on the field.
+   * @param robotVelocity the field-relative velocity of the robot.
+   * @param target the position of the target on the field.
+   */
+  public void solve(Translation2d robotPosition, Twist2d robotVelocity, Translation2d target) {
+    double robotX = robotPosition.getX();
+    double robotY = robotPosition.getY();
+
+    for (iterations = 1; iterations <= MAXIMUM_ITERATIONS; iterations++) {
+      virtualTargetX = target.getX() - robotVelocity.dx * timeOfFlightSeconds;
+      virtualTargetY = target.getY() - robotVelocity.dy * timeOfFlightSeconds;
+
+      shotMap.getShot(Math.hypot(virtualTargetX - robotX, virtualTargetY - robotY), shot);
+
+      double change = Math.abs(shot.timeOfFlightSeconds - timeOfFlightSeconds);
+
+      timeOfFlightSeconds = shot.timeOfFlightSeconds;
+
+      if (change < CONVERGED_TIME_OF_FLIGHT_SECONDS) {
+        break;
+      }
+    }
+
+    iterations = Math.min(iterations, MAXIMUM_ITERATIONS);
+
+    virtualTargetX = target.getX() - robotVelocity.dx * timeOfFlightSeconds;
+    virtualTargetY = target.getY() - robotVelocity.dy * timeOfFlightSeconds;
+
+    heading =
+        new Rotation2d(virtualTargetX - robotX, virtualTargetY - robotY).minus(shooterDirection);
+  }
+
+  /**
+   * Returns the solved shot. The returned shot is reused between solves.
+   *
+   * @return the solved shot.
+   */
+  public Shot getShot() {
+    return shot;
+  }
+
+  /**
+   * Returns the robot heading which points the shooter at the virtual target.
+   *
+   * @return the robot heading which points the shooter at the virtual target.
+   */
+  public Rotation2d getHeading() {
+    return heading;
+  }
+
+  /**
+   * Returns the position of the virtual target on the field.
+   *
+   * @return the position of the virtual target on the field.
+   */
+  public Translation2d getVirtualTarget() {
+    return new Translation2d(virtualTargetX, virtualTargetY);
+  }
+
+  /**
+   * Returns the number of iterations used by the last solve.
+   *
+   * @return the number of iterations used by the last solve.
+   */
+  public int getIterations() {
+    return iterations;
+  }
+}
@@ -1,17 +1,28 @@
 package frc.robot.superstructure;
 
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.util.Units;
+import edu.wpi.first.networktables.StructPublisher;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardLayout;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import frc.lib.Subsystem;
 import frc.lib.Telemetry;
+import frc.lib.TelemetryLog;
+import frc.lib.TelemetryPublisher;
+import frc.lib.TelemetryPublisher.Priority;
+import frc.robot.Robot;
 import frc.robot.arm.Arm;
+import frc.robot.arm.ArmState;
 import frc.robot.intake.Intake;
 import frc.robot.intake.IntakeState;
+import frc.robot.odometry.Odometry;
 import frc.robot.shooter.Shooter;
 import frc.robot.shooter.ShooterState;
+import frc.robot.superstructure.ShotMap.Shot;
+import frc.robot.swerve.Swerve;
 import java.util.function.Supplier;
 
 /** Superstructure subsystem. */
@@ -20,6 +31,28 @@ public class Superstructure extends Subsystem {
   /** Superstructure subsystem singleton. */
   private static Superstructure instance = null;
 
+  /** Position of the blue speaker opening on the field. */
+  private static final Translation2d BLUE_SPEAKER = new Translation2d(0.0, 5.55);
+
+  /** Position of the red speaker opening on the field. */
+  private static final Translation2d RED_SPEAKER = new Translation2d(16.54, 5.55);
+
+  /** Speaker shots for distances from the speaker opening. */
+  private static final ShotMap SPEAKER_SHOT_MAP =
+      new ShotMap(
+          new double[][] {
+            // Only the subwoofer shot is measured, so the speaker shot is not bound to controls
+            // Times of flight are estimated from a 12 mps exit velocity
+            // Distance (m), shoulder (deg), flywheel (rps), time of flight (s)
+            {1.3, -26.0, 50.0, 0.11},
+            {2.0, -16.0, 55.0, 0.17},
+            {2.5, -10.0, 58.0, 0.21},
+            {3.0, -5.0, 60.0, 0.25},
+            {3.5, -1.0, 62.0, 0.29},
+            {4.0, 2.0, 64.0, 0.33},
+            {5.0, 6.0, 66.0, 0.42}
+          });
+
   /** Arm subsystem reference. */
   private final Arm arm;
 
@@ -35,6 +68,16 @@ public class Superstructure extends Subsystem {
   /** Superstructure goal. */
   private SuperstructureState goal;
 
+  /** Speaker shot from the robot's current position. Updated periodically. */
+  private SuperstructureState speakerShot;
+
+  /** Solves for the speaker shot while the robot is moving. The shooter faces the robot's back. */
+  private final ShotSolver speakerShotSolver =
+      new ShotSolver(SPEAKER_SHOT_MAP, Rotation2d.fromDegrees(180.0));
+
+  /** Publishes the superstructure measurement and goal. */
+  private final StructPublisher<SuperstructureState> measurementPublisher, goalPublisher;
+
   /** Initializes the superstructure subsystem. */
   private Superstructure() {
     arm = Arm.getInstance();
@@ -44,6 +87,17 @@ public class Superstructure extends Subsystem {
     arm.setPosition(SuperstructureState.STOWED.armState());
 
     goal = SuperstructureState.STOWED;
+
+    speakerShot = SuperstructureState.SUBWOOFER;
+
+    measurementPublisher =
+        Telemetry.addStructPublisher("Superstructure", "Measurement", SuperstructureState.struct);
+    goalPublisher =
+        Telemetry.addStructPublisher("Superstructure", "Goal", SuperstructureState.struct);
+
+    TelemetryLog.addStruct(
+        "Superstructure/Measurement", SuperstructureState.struct, () -> measurement);
+    TelemetryLog.addStruct("Superstructure/Goal", SuperstructureState.struct, () -> goal);
   }
 
   /**
@@ -60,10 +114,63 @@ public class Superstructure extends Subsystem {
   }
 
   @Override
-  public void periodic() {
+  public void subsystemPeriodic() {
     measurement = new SuperstructureState(arm.getState(), intake.getState(), shooter.getState());
 
     SuperstructureMechanism.getInstance().update(measurement);
+
+    updateSpeakerShot();
+
+    measurementPublisher.set(measurement);
+    goalPublisher.set(goal);
+  }
+
+  /**
+   * Returns the position of the alliance's speaker opening on the field.
+   *
+   * @return the position of the alliance's speaker opening on the field.
+   */
+  public static Translation2d getSpeakerPosition() {
+    return Robot.isRedAlliance() ? RED_SPEAKER : BLUE_SPEAKER;
+  }
+
+  /**
+   * Updates the speaker shot for the robot's current position and velocity. The shot aims at a
+   * virtual speaker which compensates for the robot's velocity during the note's time of flight.
+   */
+  private void updateSpeakerShot() {
+    Odometry odometry = Odometry.getInstance();
+
+    speakerShotSolver.solve(
+        odometry.getPosition().getTranslation(), odometry.getVelocity(), getSpeakerPosition());
+
+    Shot solvedShot = speakerShotSolver.getShot();
+
+    speakerShot =
+        new SuperstructureState(
+            new ArmState(Rotation2d.fromRotations(solvedShot.shoulderRotations)),
+            IntakeState.IDLE,
+            new ShooterState(
+                solvedShot.flywheelVelocityRotationsPerSecond,
+                ShooterState.SUBWOOFER.serializerVelocityRotationsPerSecond()));
+  }
+
+  /**
+   * Returns the speaker shot from the robot's current position.
+   *
+   * @return the speaker shot from the robot's current position.
+   */
+  public SuperstructureState getSpeakerShot() {
+    return speakerShot;
+  }
+
+  /**
+   * Returns the robot heading which aims the speaker shot from the robot's current position.
+   *
+   * @return the robot heading which aims the speaker shot from the robot's current position.
+   */
+  public Rotation2d getSpeakerHeading() {
+    return speakerShotSolver.getHeading();
   }
 
   @Override
@@ -71,12 +178,31 @@ public class Superstructure extends Subsystem {
     addStateToShuffleboard(tab, "Measurement", () -> measurement);
     addStateToShuffleboard(tab, "Goal", () -> goal);
 
-    Telemetry.addColumn(tab, "State")
-        .addString(
-            "State",
-            () -> this.getCurrentCommand() != null ? this.getCurrentCommand().getName() : "NONE");
-
-    Telemetry.addColumn(tab, "At Goal?").addBoolean("At Goal?", this::atGoal);
+    TelemetryPublisher.addString(
+        Telemetry.addColumn(tab, "State"),
+        "State",
+        () -> this.getCurrentCommand() != null ? this.getCurrentCommand().getName() : "NONE",
+        Priority.CRITICAL);
+
+    TelemetryPublisher.addBoolean(
+        Telemetry.addColumn(tab, "At Goal?"), "At Goal?", this::atGoal, Priority.CRITICAL);
+
+    ShuffleboardLayout speaker = Telemetry.addColumn(tab, "Speaker Shot");
+
+    TelemetryPublisher.addDouble(
+            speaker,
+            "Heading (deg)",
+            () -> speakerShotSolver.getHeading().getDegrees(),
+            Priority.DEBUG)
+        .withDeadband(0.5);
+    TelemetryPublisher.addDouble(
+            speaker,
+            "Time of Flight (s)",
+            () -> speakerShotSolver.getShot().timeOfFlightSeconds,
+            Priority.DEBUG)
+        .withDeadband(0.01);
+    TelemetryPublisher.addDouble(
+        speaker, "Solver Iterations", speakerShotSolver::getIterations, Priority.DEBUG);
   }
 
   /**
@@ -90,28 +216,46 @@ public class Superstructure extends Subsystem {
       ShuffleboardTab tab, String name, Supplier<SuperstructureState> state) {
     ShuffleboardLayout layout = Telemetry.addColumn(tab, name);
 
-    layout.addDouble(
-        "Shoulder Position (deg)",
-        () -> Units.rotationsToDegrees(state.get().armState().shoulderRotations().position));
-    layout.addDouble(
-        "Shoulder Velocity (dps)",
-        () -> Units.rotationsToDegrees(state.get().armState().shoulderRotations().velocity));
-
-    layout.addDouble(
-        "Front Roller Velocity (rps)",
-        () -> state.get().intakeState().frontRollerVelocityRotationsPerSecond());
-
-    layout.addDouble(
-        "Back Roller Velocity (rps)",
-        () -> state.get().intakeState().backRollerVelocityRotationsPerSecond());
-
-    layout.addDouble(
-        "Flywheel Velocity (rps)",
-        () -> state.get().shooterState().flywheelVelocityRotationsPerSecond());
-
-    layout.addDouble(
-        "Serializer Velocity (rps)",
-        () -> state.get().shooterState().serializerVelocityRotationsPerSecond());
+    TelemetryPublisher.addDouble(
+            layout,
+            "Shoulder Position (deg)",
+            () -> Units.rotationsToDegrees(state.get().armState().shoulderRotations().position),
+            Priority.NORMAL)
+        .withDeadband(0.5);
+    TelemetryPublisher.addDouble(
+            layout,
+            "Shoulder Velocity (dps)",
+            () -> Units.rotationsToDegrees(state.get().armState().shoulderRotations().velocity),
+            Priority.NORMAL)
+        .withDeadband(0.5);
+
+    TelemetryPublisher.addDouble(
+            layout,
+            "Front Roller Velocity (rps)",
+            () -> state.get().intakeState().frontRollerVelocityRotationsPerSecond(),
+            Priority.NORMAL)
+        .withDeadband(0.1);
+
+    TelemetryPublisher.addDouble(
+            layout,
+            "Back Roller Velocity (rps)",
+            () -> state.get().intakeState().backRollerVelocityRotationsPerSecond(),
+            Priority.NORMAL)
+        .withDeadband(0.1);
+
+    TelemetryPublisher.addDouble(
+            layout,
+            "Flywheel Velocity (rps)",
+            () -> state.get().shooterState().flywheelVelocityRotationsPerSecond(),
+            Priority.NORMAL)
+        .withDeadband(0.1);
+
+    TelemetryPublisher.addDouble(
+            layout,
+            "Serializer Velocity (rps)",
+            () -> state.get().shooterState().serializerVelocityRotationsPerSecond(),
+            Priority.NORMAL)
+        .withDeadband(0.1);
   }
 
   /**
@@ -127,6 +271,15 @@ public class Superstructure extends Subsystem {
     shooter.setGoal(goal.shooterState());
   }
 
+  /**
+   * Returns the superstructure goal.
+   *
+   * @return the superstructure goal.
+   */
+  public SuperstructureState getGoal() {
+    return goal;
+  }
+
   /**
    * Returns true if the superstructure is at the goal state.
    *
@@ -166,6 +319,16 @@ public class Superstructure extends Subsystem {
     return run(() -> setGoal(goal));
   }
 
+  /**
+   * Sets the superstructure goal each loop and ends when interrupted.
+   *
+   * @param goal supplies the superstructure goal.
+   * @return a command that sets the superstructure goal each loop and ends when interrupted.
+   */
+  private Command hold(Supplier<SuperstructureState> goal) {
+    return run(() -> setGoal(goal.get()));
+  }
+
   /**
    * Stows the superstructure. Ends when interrupted.
    *
@@ -198,31 +361,35 @@ public class Superstructure extends Subsystem {
   /**
    * Pulls a note while moving to the shot position. Ends after a duration is elapsed.
    *
-   * @param shot the shot position to move to.
+   * @param shot supplies the shot position to move to.
    * @return a command that pulls a note while moving to the shot position.
    */
-  private Command pull(SuperstructureState shot) {
-    final SuperstructureState pull =
-        new SuperstructureState(shot.armState(), IntakeState.IDLE, ShooterState.PULL);
-
-    return hold(pull).withTimeout(0.2);
+  private Command pull(Supplier<SuperstructureState> shot) {
+    return hold(
+            () ->
+                new SuperstructureState(shot.get().armState(), IntakeState.IDLE, ShooterState.PULL))
+        .withTimeout(0.2);
   }
 
   /**
    * Spins up and moves to a shot but does not fire it. Ends after the shot is spun up and in
    * position or a duration is elapsed.
    *
-   * @param shot the shot to spin up for.
+   * @param shot supplies the shot to spin up for.
    * @return a commands that spins up and moves to a shot but does not fire it.
    */
-  private Command ready(SuperstructureState shot) {
-    final ShooterState spin =
-        new ShooterState(shot.shooterState().flywheelVelocityRotationsPerSecond(), 0);
-
-    final SuperstructureState ready =
-        new SuperstructureState(shot.armState(), IntakeState.IDLE, spin);
-
-    return to(ready).withTimeout(1.0);
+  private Command ready(Supplier<SuperstructureState> shot) {
+    return hold(
+            () -> {
+              final SuperstructureState goal = shot.get();
+
+              final ShooterState spin =
+                  new ShooterState(goal.shooterState().flywheelVelocityRotationsPerSecond(), 0);
+
+              return new SuperstructureState(goal.armState(), IntakeState.IDLE, spin);
+            })
+        .until(this::atGoal)
+        .withTimeout(1.0);
   }
 
   /**
@@ -232,7 +399,7 @@ public class Superstructure extends Subsystem {
    * @return a command that prepares a shot.
    */
   public Command prepare(SuperstructureState shot) {
-    return pull(shot).andThen(ready(shot));
+    return pull(() -> shot).andThen(ready(() -> shot));
   }
 
   /**
@@ -242,6 +409,16 @@ public class Superstructure extends Subsystem {
    * @return a command that readies and shoots a shot.
    */
   public Command shoot(SuperstructureState shot) {
+    return shoot(() -> shot);
+  }
+
+  /**
+   * Readies and shoots a shot that may change each loop. Ends when interrupted.
+   *
+   * @param shot supplies the shot.
+   * @return a command that readies and shoots a shot.
+   */
+  private Command shoot(Supplier<SuperstructureState> shot) {
     return ready(shot).andThen(Commands.waitSeconds(0.25)).andThen(hold(shot));
   }
 
@@ -252,7 +429,24 @@ public class Superstructure extends Subsystem {
    * @return a command that pulls, readies, and shoots a shot.
    */
   private Command autoShoot(SuperstructureState shot) {
-    return pull(shot).andThen(shoot(shot));
+    return pull(() -> shot).andThen(shoot(() -> shot));
+  }
+
+  /**
+   * Automatically shoots a note into the speaker from the robot's current distance. The shot
+   * follows the robot's distance while readying, and only fires once the swerve's heading is
+   * locked on the speaker. Ends when interrupted.
+   *
+   * @return a command that automatically shoots a note into the speaker from the robot's current
+   *     distance.
+   */
+  public Command speaker() {
+    return pull(this::getSpeakerShot)
+        .andThen(ready(this::getSpeakerShot))
+        .andThen(Commands.waitSeconds(0.25))
+        .andThen(Commands.waitUntil(Swerve.getInstance()::atHeadingGoal))
+        .andThen(hold(this::getSpeakerShot))
+        .withName("SPEAKER");
   }
 
   /**
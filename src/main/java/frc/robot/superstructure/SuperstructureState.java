@@ -9,6 +9,9 @@ import java.util.Objects;
 public record SuperstructureState(
     ArmState armState, IntakeState intakeState, ShooterState shooterState) {
 
+  /** Struct serialization of superstructure states. */
+  public static final SuperstructureStateStruct struct = new SuperstructureStateStruct();
+
   /** Stowed state. */
   public static final SuperstructureState STOWED =
       new SuperstructureState(ArmState.STOWED, IntakeState.IDLE, ShooterState.IDLING);
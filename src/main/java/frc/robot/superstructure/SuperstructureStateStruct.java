@@ -0,0 +1,56 @@
+package frc.robot.superstructure;
+
+import edu.wpi.first.math.trajectory.TrapezoidProfile.State;
+import edu.wpi.first.util.struct.Struct;
+import frc.robot.arm.ArmState;
+import frc.robot.intake.IntakeState;
+import frc.robot.shooter.ShooterState;
+import java.nio.ByteBuffer;
+
+/** Struct serialization of {@link SuperstructureState}. */
+public class SuperstructureStateStruct implements Struct<SuperstructureState> {
+
+  @Override
+  public Class<SuperstructureState> getTypeClass() {
+    return SuperstructureState.class;
+  }
+
+  @Override
+  public String getTypeString() {
+    return "struct:SuperstructureState";
+  }
+
+  @Override
+  public int getSize() {
+    return kSizeDouble * 6;
+  }
+
+  @Override
+  public String getSchema() {
+    return "double shoulderPositionRotations;"
+        + "double shoulderVelocityRotationsPerSecond;"
+        + "double frontRollerVelocityRotationsPerSecond;"
+        + "double backRollerVelocityRotationsPerSecond;"
+        + "double flywheelVelocityRotationsPerSecond;"
+        + "double serializerVelocityRotationsPerSecond";
+  }
+
+  @Override
+  public SuperstructureState unpack(ByteBuffer bb) {
+    ArmState armState = new ArmState(new State(bb.getDouble(), bb.getDouble()));
+    IntakeState intakeState = new IntakeState(bb.getDouble(), bb.getDouble());
+    ShooterState shooterState = new ShooterState(bb.getDouble(), bb.getDouble());
+
+    return new SuperstructureState(armState, intakeState, shooterState);
+  }
+
+  @Override
+  public void pack(ByteBuffer bb, SuperstructureState state) {
+    bb.putDouble(state.armState().shoulderRotations().position);
+    bb.putDouble(state.armState().shoulderRotations().velocity);
+    bb.putDouble(state.intakeState().frontRollerVelocityRotationsPerSecond());
+    bb.putDouble(state.intakeState().backRollerVelocityRotationsPerSecond());
+    bb.putDouble(state.shooterState().flywheelVelocityRotationsPerSecond());
+    bb.putDouble(state.shooterState().serializerVelocityRotationsPerSecond());
+  }
+}
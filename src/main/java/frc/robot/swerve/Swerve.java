@@ -1,27 +1,43 @@
 package frc.robot.swerve;
 
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.ProfiledPIDController;
 import edu.wpi.first.math.filter.SlewRateLimiter;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
 import edu.wpi.first.math.kinematics.SwerveModulePosition;
 import edu.wpi.first.math.kinematics.SwerveModuleState;
+import edu.wpi.first.math.trajectory.TrapezoidProfile;
 import edu.wpi.first.math.util.Units;
+import edu.wpi.first.networktables.StructArrayPublisher;
+import edu.wpi.first.networktables.StructPublisher;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardLayout;
 import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import frc.lib.DriveRequest;
+import frc.lib.DriveRequest.RotationMode;
+import frc.lib.DriveRequest.TranslationMode;
+import frc.lib.InPlaceSwerveKinematics;
 import frc.lib.Subsystem;
+import frc.lib.SwerveSetpointGenerator;
 import frc.lib.Telemetry;
+import frc.lib.TelemetryLog;
+import frc.lib.TelemetryPublisher;
+import frc.lib.TelemetryPublisher.Priority;
 import frc.lib.config.MechanismConfig;
 import frc.lib.config.MechanismConfig.MechanismConfigBuilder;
 import frc.lib.config.MotionProfileConfig;
 import frc.lib.config.MotionProfileConfig.MotionProfileConfigBuilder;
+import frc.lib.controller.PositionControllerIO.PositionControllerIOValues;
 import frc.lib.controller.SwerveModuleIO;
+import frc.lib.controller.VelocityControllerIO.VelocityControllerIOValues;
+import frc.lib.replay.ReplayLog;
 import frc.robot.RobotConstants;
 import frc.robot.odometry.Odometry;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /** Swerve subsystem. */
 public class Swerve extends Subsystem {
@@ -29,12 +45,45 @@ public class Swerve extends Subsystem {
   /** Swerve subsystem singleton. */
   private static Swerve instance = null;
 
+  /** Largest heading change in one loop which is not a heading reset, in rotations. */
+  private static final double MAXIMUM_HEADING_CHANGE_ROTATIONS = 0.1;
+
   /** Swerve modules. */
   private final SwerveModuleIO[] swerveModules = new SwerveModuleIO[4];
 
   /** Swerve kinematics. */
   private final SwerveDriveKinematics swerveKinematics;
 
+  /** Swerve kinematics which do not allocate. Used for the drive hot path. */
+  private final InPlaceSwerveKinematics inPlaceSwerveKinematics;
+
+  /** Module states. Reused between calls. */
+  private final SwerveModuleState[] moduleStates = new SwerveModuleState[4];
+
+  /** Module setpoints. Reused between calls. */
+  private final SwerveModuleState[] moduleSetpoints = new SwerveModuleState[4];
+
+  /** Module positions. Reused between calls. */
+  private final SwerveModulePosition[] modulePositions = new SwerveModulePosition[4];
+
+  /** Generates module setpoints which respect the steer and drive limits. */
+  private final SwerveSetpointGenerator setpointGenerator;
+
+  /** Module setpoints calculated from chassis speeds. Reused between calls. */
+  private final SwerveModuleState[] chassisSpeedsSetpoints = new SwerveModuleState[4];
+
+  /**
+   * Module setpoints last commanded, before each module optimizes them. Seeds the setpoint
+   * generator, so that it continues from its own output.
+   */
+  private final SwerveModuleState[] previousSetpoints = new SwerveModuleState[4];
+
+  /** Chassis speeds. Reused between calls. */
+  private final ChassisSpeeds chassisSpeeds = new ChassisSpeeds();
+
+  /** Discretized chassis speeds setpoint. Reused between calls. */
+  private final ChassisSpeeds discreteChassisSpeeds = new ChassisSpeeds();
+
   /** Steer motor config. */
   private final MechanismConfig steerConfig =
       MechanismConfigBuilder.defaults()
@@ -76,7 +125,48 @@ public class Swerve extends Subsystem {
 
   /** Rotation motion profile config. */
   private final MotionProfileConfig rotationMotionProfileConfig =
-      MotionProfileConfigBuilder.defaults().maximumVelocity(1.0).build();
+      MotionProfileConfigBuilder.defaults()
+          .maximumVelocity(1.0)
+          .maximumAcceleration(MotionProfileConfig.calculateAcceleration(1.0, 0.25))
+          .build();
+
+  /**
+   * Steer motion profile config. Limits how fast the generated module setpoints steer, below the
+   * steer motor's free speed.
+   */
+  private final MotionProfileConfig steerMotionProfileConfig =
+      MotionProfileConfigBuilder.defaults().maximumVelocity(3.0).build();
+
+  /** Heading controller. Calculates rotation velocities in rotations per second. */
+  private final ProfiledPIDController headingController =
+      new ProfiledPIDController(
+          4.0,
+          0.0,
+          0.0,
+          new TrapezoidProfile.Constraints(
+              rotationMotionProfileConfig.maximumVelocity(),
+              rotationMotionProfileConfig.maximumAcceleration()));
+
+  /** Driver-relative heading held while aligning or drifting. Null while spinning. */
+  private Rotation2d headingGoal = null;
+
+  /** Driver-relative heading measured in the previous loop. */
+  private Rotation2d previousHeading = new Rotation2d();
+
+  /** Heading locked to by the heading lock drive. Null while the heading is not locked. */
+  private Rotation2d lockedHeading = null;
+
+  /** Publishes the module states. */
+  private final StructArrayPublisher<SwerveModuleState> moduleStatesPublisher =
+      Telemetry.addStructArrayPublisher("Swerve", "Module States", SwerveModuleState.struct);
+
+  /** Publishes the module setpoints. */
+  private final StructArrayPublisher<SwerveModuleState> moduleSetpointsPublisher =
+      Telemetry.addStructArrayPublisher("Swerve", "Module Setpoints", SwerveModuleState.struct);
+
+  /** Publishes the chassis speeds. */
+  private final StructPublisher<ChassisSpeeds> chassisSpeedsPublisher =
+      Telemetry.addStructPublisher("Swerve", "Chassis Speeds", ChassisSpeeds.struct);
 
   /** Initializes the swerve subsystem and configures swerve hardware. */
   private Swerve() {
@@ -95,6 +185,55 @@ public class Swerve extends Subsystem {
             SwerveFactory.createNorthEastModuleTranslation(),
             SwerveFactory.createSouthEastModuleTranslation(),
             SwerveFactory.createSouthWestModuleTranslation());
+
+    inPlaceSwerveKinematics =
+        new InPlaceSwerveKinematics(
+            SwerveFactory.createNorthWestModuleTranslation(),
+            SwerveFactory.createNorthEastModuleTranslation(),
+            SwerveFactory.createSouthEastModuleTranslation(),
+            SwerveFactory.createSouthWestModuleTranslation());
+
+    setpointGenerator =
+        new SwerveSetpointGenerator(
+            translationMotionProfileConfig.maximumVelocity(),
+            translationMotionProfileConfig.maximumAcceleration(),
+            steerMotionProfileConfig.maximumVelocity(),
+            SwerveFactory.createNorthWestModuleTranslation(),
+            SwerveFactory.createNorthEastModuleTranslation(),
+            SwerveFactory.createSouthEastModuleTranslation(),
+            SwerveFactory.createSouthWestModuleTranslation());
+
+    for (int i = 0; i < 4; i++) {
+      chassisSpeedsSetpoints[i] = new SwerveModuleState();
+      previousSetpoints[i] = new SwerveModuleState();
+
+      SwerveModuleIO swerveModule = swerveModules[i];
+
+      String name = "Swerve/Module " + i;
+
+      swerveModule
+          .getSteerMotorValues()
+          .ifPresent(
+              steerMotorValues ->
+                  TelemetryLog.addStruct(
+                      name + "/Steer", PositionControllerIOValues.struct, () -> steerMotorValues));
+      swerveModule
+          .getDriveMotorValues()
+          .ifPresent(
+              driveMotorValues ->
+                  TelemetryLog.addStruct(
+                      name + "/Drive", VelocityControllerIOValues.struct, () -> driveMotorValues));
+
+      ReplayLog.addInput(
+          "Swerve/Module " + i + "/State", SwerveModuleState.struct, swerveModule::getState);
+      ReplayLog.addInput(
+          "Swerve/Module " + i + "/Position",
+          SwerveModulePosition.struct,
+          swerveModule::getPosition);
+    }
+
+    headingController.enableContinuousInput(-0.5, 0.5);
+    headingController.setTolerance(Units.degreesToRotations(2.0));
   }
 
   /**
@@ -111,28 +250,64 @@ public class Swerve extends Subsystem {
   }
 
   @Override
-  public void periodic() {}
+  public void subsystemPeriodic() {
+    moduleStatesPublisher.set(getModuleStates());
+    moduleSetpointsPublisher.set(getModuleSetpoints());
+    chassisSpeedsPublisher.set(getChassisSpeeds());
+  }
+
+  /** Samples the swerve modules. Should be called once per loop, before reading the modules. */
+  public void sample() {
+    for (SwerveModuleIO swerveModule : swerveModules) {
+      swerveModule.sample();
+    }
+  }
 
   @Override
   public void addToShuffleboard(ShuffleboardTab tab) {
-    Telemetry.addSwerveModuleStates(tab, "Swerve Module States", this::getModuleStates);
-    Telemetry.addSwerveModuleStates(tab, "Swerve Module Setpoints", this::getModuleSetpoints);
-
     for (int i = 0; i < 4; i++) {
       SwerveModuleIO swerveModule = swerveModules[i];
 
       ShuffleboardLayout swerveModuleColumn = Telemetry.addColumn(tab, "Module " + i);
 
-      swerveModuleColumn.addDouble("Angle (deg)", () -> swerveModule.getState().angle.getDegrees());
-      swerveModuleColumn.addDouble(
-          "Velocity (mps)", () -> swerveModule.getState().speedMetersPerSecond);
-      swerveModuleColumn.addDouble(
-          "Setpoint Angle (deg)", () -> swerveModule.getSetpoint().angle.getDegrees());
-      swerveModuleColumn.addDouble(
-          "Setpoint Velocity (mps)", () -> swerveModule.getSetpoint().speedMetersPerSecond);
+      TelemetryPublisher.addDouble(
+              swerveModuleColumn,
+              "Angle (deg)",
+              () -> swerveModule.getState().angle.getDegrees(),
+              Priority.DEBUG)
+          .withDeadband(0.5);
+      TelemetryPublisher.addDouble(
+              swerveModuleColumn,
+              "Velocity (mps)",
+              () -> swerveModule.getState().speedMetersPerSecond,
+              Priority.DEBUG)
+          .withDeadband(0.01);
+      TelemetryPublisher.addDouble(
+              swerveModuleColumn,
+              "Setpoint Angle (deg)",
+              () -> swerveModule.getSetpoint().angle.getDegrees(),
+              Priority.DEBUG)
+          .withDeadband(0.5);
+      TelemetryPublisher.addDouble(
+              swerveModuleColumn,
+              "Setpoint Velocity (mps)",
+              () -> swerveModule.getSetpoint().speedMetersPerSecond,
+              Priority.DEBUG)
+          .withDeadband(0.01);
+      TelemetryPublisher.addDouble(
+          swerveModuleColumn, "Samples", swerveModule::getSampleCount, Priority.DEBUG);
     }
   }
 
+  /**
+   * Returns the swerve modules.
+   *
+   * @return the swerve modules.
+   */
+  public SwerveModuleIO[] getModules() {
+    return swerveModules;
+  }
+
   /**
    * Returns the swerve kinematics.
    *
@@ -143,13 +318,11 @@ public class Swerve extends Subsystem {
   }
 
   /**
-   * Returns the module states.
+   * Returns the module states. The returned array is reused between calls.
    *
    * @return the module states.
    */
   public SwerveModuleState[] getModuleStates() {
-    SwerveModuleState[] moduleStates = new SwerveModuleState[4];
-
     for (int i = 0; i < 4; i++) {
       moduleStates[i] = swerveModules[i].getState();
     }
@@ -158,13 +331,11 @@ public class Swerve extends Subsystem {
   }
 
   /**
-   * Returns the module setpoints.
+   * Returns the module setpoints. The returned array is reused between calls.
    *
    * @return the module setpoints.
    */
   public SwerveModuleState[] getModuleSetpoints() {
-    SwerveModuleState[] moduleSetpoints = new SwerveModuleState[4];
-
     for (int i = 0; i < 4; i++) {
       moduleSetpoints[i] = swerveModules[i].getSetpoint();
     }
@@ -173,13 +344,11 @@ public class Swerve extends Subsystem {
   }
 
   /**
-   * Returns the module positions.
+   * Returns the module positions. The returned array is reused between calls.
    *
    * @return the module positions.
    */
   public SwerveModulePosition[] getModulePositions() {
-    SwerveModulePosition[] modulePositions = new SwerveModulePosition[4];
-
     for (int i = 0; i < 4; i++) {
       modulePositions[i] = swerveModules[i].getPosition();
     }
@@ -188,25 +357,34 @@ public class Swerve extends Subsystem {
   }
 
   /**
-   * Returns the chassis speeds.
+   * Returns the chassis speeds. The returned chassis speeds are reused between calls.
    *
    * @return the chassis speeds.
    */
   public ChassisSpeeds getChassisSpeeds() {
-    return swerveKinematics.toChassisSpeeds(getModuleStates());
+    inPlaceSwerveKinematics.toChassisSpeeds(getModuleStates(), chassisSpeeds);
+
+    return chassisSpeeds;
   }
 
   /**
-   * Sets the swerve speeds.
+   * Sets the swerve speeds. The module setpoints move towards the speeds only as fast as the
+   * modules can steer and accelerate.
    *
    * @param speeds the swerve speeds.
    */
   public void setChassisSpeeds(ChassisSpeeds speeds) {
-    speeds = ChassisSpeeds.discretize(speeds, RobotConstants.PERIODIC_DURATION);
+    InPlaceSwerveKinematics.discretize(
+        speeds, RobotConstants.PERIODIC_DURATION, discreteChassisSpeeds);
 
-    SwerveModuleState[] setpoints = swerveKinematics.toSwerveModuleStates(speeds);
+    setpointGenerator.generate(
+        previousSetpoints,
+        discreteChassisSpeeds,
+        RobotConstants.PERIODIC_DURATION,
+        chassisSpeedsSetpoints);
 
-    setSetpoints(setpoints, true);
+    // The generated setpoints already respect the steer limits, so they are not scaled again
+    setSetpoints(chassisSpeedsSetpoints, false);
   }
 
   /**
@@ -216,9 +394,12 @@ public class Swerve extends Subsystem {
    * @param lazy if true, optimize the module setpoints.
    */
   public void setSetpoints(SwerveModuleState[] setpoints, boolean lazy) {
-    SwerveDriveKinematics.desaturateWheelSpeeds(setpoints, maximumTranslationVelocity());
+    InPlaceSwerveKinematics.desaturateWheelSpeeds(setpoints, maximumTranslationVelocity());
 
     for (int i = 0; i < 4; i++) {
+      previousSetpoints[i].speedMetersPerSecond = setpoints[i].speedMetersPerSecond;
+      previousSetpoints[i].angle = setpoints[i].angle;
+
       swerveModules[i].setSetpoint(setpoints[i], lazy);
     }
   }
@@ -241,6 +422,26 @@ public class Swerve extends Subsystem {
     return SwerveFactory.createNorthEastModuleTranslation().getNorm();
   }
 
+  /**
+   * Returns true if the heading is locked and the robot is within the heading controller's
+   * tolerance of the locked heading.
+   *
+   * @return true if the heading is locked and the robot is within the heading controller's
+   *     tolerance of the locked heading.
+   */
+  public boolean atHeadingGoal() {
+    if (lockedHeading == null) {
+      return false;
+    }
+
+    Rotation2d heading = Odometry.getInstance().getPosition().getRotation();
+
+    double errorRotations =
+        MathUtil.inputModulus(lockedHeading.minus(heading).getRotations(), -0.5, 0.5);
+
+    return Math.abs(errorRotations) <= headingController.getPositionTolerance();
+  }
+
   /**
    * Drives the swerve using an Xbox controller.
    *
@@ -248,6 +449,128 @@ public class Swerve extends Subsystem {
    * @return a command that drives the swerve using an Xbox controller.
    */
   public Command teleopDrive(CommandXboxController controller) {
+    return runOnce(
+            () -> {
+              headingGoal = null;
+              previousHeading = Odometry.getInstance().getDriverRelativeHeading();
+            })
+        .andThen(drive(controller, this::calculateRotationVelocity));
+  }
+
+  /**
+   * Drives the swerve using an Xbox controller while locking the heading. The heading may change
+   * each loop, for example to aim while moving.
+   *
+   * @param controller the Xbox controller to use.
+   * @param heading supplies the heading to lock to.
+   * @return a command that drives the swerve using an Xbox controller while locking the heading.
+   */
+  public Command headingLockDrive(CommandXboxController controller, Supplier<Rotation2d> heading) {
+    return runOnce(() -> resetHeadingController(Odometry.getInstance().getPosition().getRotation()))
+        .andThen(
+            drive(
+                controller,
+                request -> {
+                  lockedHeading = heading.get();
+
+                  return calculateHeadingVelocity(
+                      Odometry.getInstance().getPosition().getRotation(), lockedHeading);
+                }))
+        .finallyDo(() -> lockedHeading = null);
+  }
+
+  /**
+   * Calculates the rotation velocity for a drive request. Spinning drives at the requested
+   * velocity, aligning turns to the requested cardinal heading, and drifting holds the heading the
+   * robot stops turning at.
+   *
+   * @param request the drive request.
+   * @return the rotation velocity in rotations per second.
+   */
+  private double calculateRotationVelocity(DriveRequest request) {
+    Rotation2d heading = Odometry.getInstance().getDriverRelativeHeading();
+
+    double headingJumpRotations =
+        MathUtil.inputModulus(heading.minus(previousHeading).getRotations(), -0.5, 0.5);
+
+    previousHeading = heading;
+
+    // The heading only jumps when it is reset, so move the held heading along with it
+    if (headingGoal != null && Math.abs(headingJumpRotations) > MAXIMUM_HEADING_CHANGE_ROTATIONS) {
+      headingGoal = headingGoal.plus(Rotation2d.fromRotations(headingJumpRotations));
+
+      resetHeadingController(heading);
+    }
+
+    if (request.rotationMode() == RotationMode.SPINNING) {
+      headingGoal = null;
+
+      return request.rotationVelocityAxis() * rotationMotionProfileConfig.maximumVelocity();
+    }
+
+    if (headingGoal == null) {
+      resetHeadingController(heading);
+
+      // Hold the heading the robot stops at when decelerating from its current velocity
+      double velocityRotationsPerSecond = headingController.getSetpoint().velocity;
+      double stoppingRotations =
+          velocityRotationsPerSecond
+              * Math.abs(velocityRotationsPerSecond)
+              / (2.0 * rotationMotionProfileConfig.maximumAcceleration());
+
+      headingGoal = heading.plus(Rotation2d.fromRotations(stoppingRotations));
+    }
+
+    if (request.rotationMode() == RotationMode.ALIGNING) {
+      headingGoal = snapToCardinal(request.headingAxis().getAngle());
+    }
+
+    return calculateHeadingVelocity(heading, headingGoal);
+  }
+
+  /**
+   * Returns the cardinal heading nearest to a heading.
+   *
+   * @param heading the heading.
+   * @return the cardinal heading nearest to the heading.
+   */
+  private static Rotation2d snapToCardinal(Rotation2d heading) {
+    return Rotation2d.fromDegrees(Math.round(heading.getDegrees() / 90.0) * 90.0);
+  }
+
+  /**
+   * Resets the heading controller to a heading and the current rotation velocity.
+   *
+   * @param heading the heading.
+   */
+  private void resetHeadingController(Rotation2d heading) {
+    headingController.reset(
+        heading.getRotations(),
+        Units.radiansToRotations(getChassisSpeeds().omegaRadiansPerSecond));
+  }
+
+  /**
+   * Calculates the rotation velocity which profiles to a heading.
+   *
+   * @param heading the measured heading.
+   * @param goal the heading goal.
+   * @return the rotation velocity in rotations per second.
+   */
+  private double calculateHeadingVelocity(Rotation2d heading, Rotation2d goal) {
+    double feedback = headingController.calculate(heading.getRotations(), goal.getRotations());
+
+    return headingController.getSetpoint().velocity + feedback;
+  }
+
+  /**
+   * Drives the swerve using an Xbox controller for translation.
+   *
+   * @param controller the Xbox controller to use.
+   * @param rotationVelocityGetter gets the rotation velocity in rotations per second.
+   * @return a command that drives the swerve using an Xbox controller for translation.
+   */
+  private Command drive(
+      CommandXboxController controller, Function<DriveRequest, Double> rotationVelocityGetter) {
     final SlewRateLimiter xAccelerationLimiter =
         translationMotionProfileConfig.createAccelerationLimiter();
     final SlewRateLimiter yAccelerationLimiter =
@@ -266,14 +589,24 @@ public class Swerve extends Subsystem {
                       Units.radiansToRotations(chassisSpeeds.omegaRadiansPerSecond))));
         };
 
+    // Both translation modes are limited as robot-relative chassis speeds, so switching between
+    // them does not reset the limiters or jump the velocity
     final Function<DriveRequest, ChassisSpeeds> chassisSpeedsGetter =
         request -> {
+          final ChassisSpeeds chassisSpeeds =
+              new ChassisSpeeds(
+                  request.translationAxis().getX()
+                      * translationMotionProfileConfig.maximumVelocity(),
+                  request.translationAxis().getY()
+                      * translationMotionProfileConfig.maximumVelocity(),
+                  Units.rotationsToRadians(rotationVelocityGetter.apply(request)));
+
+          if (request.translationMode() == TranslationMode.ROBOT_CENTRIC) {
+            return chassisSpeeds;
+          }
+
           return ChassisSpeeds.fromFieldRelativeSpeeds(
-              request.translationAxis().getX() * translationMotionProfileConfig.maximumVelocity(),
-              request.translationAxis().getY() * translationMotionProfileConfig.maximumVelocity(),
-              request.rotationVelocityAxis()
-                  * Units.rotationsToRadians(rotationMotionProfileConfig.maximumVelocity()),
-              Odometry.getInstance().getDriverRelativeHeading());
+              chassisSpeeds, Odometry.getInstance().getDriverRelativeHeading());
         };
 
     return run(
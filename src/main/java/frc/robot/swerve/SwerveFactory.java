@@ -11,9 +11,11 @@ import frc.lib.controller.PositionControllerIOSim;
 import frc.lib.controller.PositionControllerIOTalonFXSteer;
 import frc.lib.controller.SwerveModuleIO;
 import frc.lib.controller.SwerveModuleIOCustom;
+import frc.lib.controller.SwerveModuleIOReplay;
 import frc.lib.controller.VelocityControllerIO;
 import frc.lib.controller.VelocityControllerIOSim;
 import frc.lib.controller.VelocityControllerIOTalonFXPIDF;
+import frc.lib.replay.ReplayLog;
 import frc.robot.Robot;
 import frc.robot.RobotConstants;
 import frc.robot.RobotConstants.Subsystem;
@@ -24,15 +26,21 @@ public class SwerveFactory {
   /**
    * Creates a swerve module.
    *
+   * @param name the name of the swerve module.
    * @return a swerve module.
    */
   private static SwerveModuleIO createModule(
+      String name,
       CAN steer,
       CAN azimuth,
       CAN drive,
       MechanismConfig steerConfig,
       MechanismConfig driveConfig,
       double wheelCircumference) {
+    if (ReplayLog.isReplaying()) {
+      return new SwerveModuleIOReplay(name, wheelCircumference);
+    }
+
     return new SwerveModuleIOCustom(
         createSteerMotor(steer, azimuth, steerConfig),
         createDriveMotor(drive, driveConfig),
@@ -47,6 +55,7 @@ public class SwerveFactory {
   public static SwerveModuleIO createNorthWestModule(
       MechanismConfig steerConfig, MechanismConfig driveConfig, double wheelCircumference) {
     return createModule(
+        "Swerve/Module 0",
         new CAN(8, "swerve"),
         new CAN(16, "swerve"),
         new CAN(24, "swerve"),
@@ -76,6 +85,7 @@ public class SwerveFactory {
   public static SwerveModuleIO createNorthEastModule(
       MechanismConfig steerConfig, MechanismConfig driveConfig, double wheelCircumference) {
     return createModule(
+        "Swerve/Module 1",
         new CAN(16, "swerve"),
         new CAN(18, "swerve"),
         new CAN(30, "swerve"),
@@ -105,6 +115,7 @@ public class SwerveFactory {
   public static SwerveModuleIO createSouthEastModule(
       MechanismConfig steerConfig, MechanismConfig driveConfig, double wheelCircumference) {
     return createModule(
+        "Swerve/Module 2",
         new CAN(12, "swerve"),
         new CAN(22, "swerve"),
         new CAN(26, "swerve"),
@@ -134,6 +145,7 @@ public class SwerveFactory {
   public static SwerveModuleIO createSouthWestModule(
       MechanismConfig steerConfig, MechanismConfig driveConfig, double wheelCircumference) {
     return createModule(
+        "Swerve/Module 3",
         new CAN(10, "swerve"),
         new CAN(20, "swerve"),
         new CAN(28, "swerve"),
@@ -0,0 +1,49 @@
+package frc.lib;
+
+import java.lang.management.ManagementFactory;
+
+/** Measures the bytes allocated on the heap by the current thread. */
+public class Allocations {
+
+  /** Thread bean which counts allocated bytes per thread. */
+  private static final com.sun.management.ThreadMXBean threadBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  /**
+   * Returns the bytes allocated by the current thread so far.
+   *
+   * @return the bytes allocated by the current thread so far.
+   */
+  private static long allocatedBytes() {
+    return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Runs a task until it reaches a steady state, then returns the bytes it allocates over a number
+   * of further runs.
+   *
+   * @param task the task to measure.
+   * @param warmups the number of runs before measuring.
+   * @param runs the number of measured runs.
+   * @return the bytes allocated by the measured runs.
+   */
+  public static long measure(Runnable task, int warmups, int runs) {
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    for (int i = 0; i < warmups; i++) {
+      task.run();
+    }
+
+    // Reading the counter may itself allocate, so that cost is subtracted
+    long start = allocatedBytes();
+    long overhead = allocatedBytes() - start;
+
+    start = allocatedBytes();
+
+    for (int i = 0; i < runs; i++) {
+      task.run();
+    }
+
+    return allocatedBytes() - start - overhead;
+  }
+}
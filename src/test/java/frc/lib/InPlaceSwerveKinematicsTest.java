@@ -0,0 +1,158 @@
+package frc.lib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InPlaceSwerveKinematicsTest {
+
+  private static final double EPSILON = 1e-9;
+
+  private static final Translation2d[] MODULE_TRANSLATIONS = {
+    new Translation2d(0.3, 0.25),
+    new Translation2d(0.3, -0.25),
+    new Translation2d(-0.3, -0.25),
+    new Translation2d(-0.3, 0.25)
+  };
+
+  private final SwerveDriveKinematics expectedKinematics =
+      new SwerveDriveKinematics(MODULE_TRANSLATIONS);
+
+  private final InPlaceSwerveKinematics kinematics =
+      new InPlaceSwerveKinematics(MODULE_TRANSLATIONS);
+
+  private final SwerveModuleState[] states = new SwerveModuleState[4];
+
+  @BeforeEach
+  void setup() {
+    for (int i = 0; i < 4; i++) {
+      states[i] = new SwerveModuleState();
+    }
+  }
+
+  private static void assertStatesEqual(SwerveModuleState[] expected, SwerveModuleState[] actual) {
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i].speedMetersPerSecond, actual[i].speedMetersPerSecond, EPSILON);
+      assertEquals(expected[i].angle.getCos(), actual[i].angle.getCos(), EPSILON);
+      assertEquals(expected[i].angle.getSin(), actual[i].angle.getSin(), EPSILON);
+    }
+  }
+
+  private static void assertSpeedsEqual(ChassisSpeeds expected, ChassisSpeeds actual) {
+    assertEquals(expected.vxMetersPerSecond, actual.vxMetersPerSecond, EPSILON);
+    assertEquals(expected.vyMetersPerSecond, actual.vyMetersPerSecond, EPSILON);
+    assertEquals(expected.omegaRadiansPerSecond, actual.omegaRadiansPerSecond, EPSILON);
+  }
+
+  @Test
+  void toSwerveModuleStatesMatchesWPILib() {
+    ChassisSpeeds speeds = new ChassisSpeeds(1.5, -0.75, 2.0);
+
+    kinematics.toSwerveModuleStates(speeds, states);
+
+    assertStatesEqual(expectedKinematics.toSwerveModuleStates(speeds), states);
+  }
+
+  @Test
+  void toChassisSpeedsMatchesWPILib() {
+    SwerveModuleState[] moduleStates = {
+      new SwerveModuleState(1.0, Rotation2d.fromDegrees(10.0)),
+      new SwerveModuleState(2.0, Rotation2d.fromDegrees(-35.0)),
+      new SwerveModuleState(-0.5, Rotation2d.fromDegrees(120.0)),
+      new SwerveModuleState(1.5, Rotation2d.fromDegrees(80.0))
+    };
+
+    ChassisSpeeds speeds = new ChassisSpeeds();
+
+    kinematics.toChassisSpeeds(moduleStates, speeds);
+
+    assertSpeedsEqual(expectedKinematics.toChassisSpeeds(moduleStates), speeds);
+  }
+
+  @Test
+  void stoppedModulesKeepTheirAngles() {
+    Rotation2d angle = Rotation2d.fromDegrees(45.0);
+
+    for (SwerveModuleState state : states) {
+      state.angle = angle;
+    }
+
+    kinematics.toSwerveModuleStates(new ChassisSpeeds(), states);
+
+    for (SwerveModuleState state : states) {
+      assertEquals(0.0, state.speedMetersPerSecond);
+      assertSame(angle, state.angle);
+    }
+  }
+
+  @Test
+  void unchangedSpeedsReuseAngles() {
+    ChassisSpeeds speeds = new ChassisSpeeds(1.0, 0.5, -1.0);
+
+    kinematics.toSwerveModuleStates(speeds, states);
+
+    Rotation2d[] angles = new Rotation2d[4];
+
+    for (int i = 0; i < 4; i++) {
+      angles[i] = states[i].angle;
+    }
+
+    kinematics.toSwerveModuleStates(speeds, states);
+
+    for (int i = 0; i < 4; i++) {
+      assertSame(angles[i], states[i].angle);
+    }
+  }
+
+  @Test
+  void discretizeMatchesWPILib() {
+    ChassisSpeeds speeds = new ChassisSpeeds(3.0, -1.0, 4.0);
+    ChassisSpeeds discreteSpeeds = new ChassisSpeeds();
+
+    InPlaceSwerveKinematics.discretize(speeds, 0.02, discreteSpeeds);
+
+    assertSpeedsEqual(ChassisSpeeds.discretize(speeds, 0.02), discreteSpeeds);
+  }
+
+  @Test
+  void discretizeWithoutRotationKeepsSpeeds() {
+    ChassisSpeeds speeds = new ChassisSpeeds(3.0, -1.0, 0.0);
+
+    InPlaceSwerveKinematics.discretize(speeds, 0.02, speeds);
+
+    assertSpeedsEqual(new ChassisSpeeds(3.0, -1.0, 0.0), speeds);
+  }
+
+  @Test
+  void desaturateWheelSpeedsMatchesWPILib() {
+    ChassisSpeeds speeds = new ChassisSpeeds(4.0, 3.0, 6.0);
+
+    kinematics.toSwerveModuleStates(speeds, states);
+
+    SwerveModuleState[] expected = expectedKinematics.toSwerveModuleStates(speeds);
+
+    SwerveDriveKinematics.desaturateWheelSpeeds(expected, 4.5);
+    InPlaceSwerveKinematics.desaturateWheelSpeeds(states, 4.5);
+
+    assertStatesEqual(expected, states);
+  }
+
+  @Test
+  void reuseRotationReusesUnchangedRotations() {
+    Rotation2d rotation = new Rotation2d(3.0, 4.0);
+
+    assertSame(rotation, InPlaceSwerveKinematics.reuseRotation(rotation, 3.0, 4.0));
+    assertSame(rotation, InPlaceSwerveKinematics.reuseRotation(rotation, rotation.getRadians()));
+
+    Rotation2d changed = InPlaceSwerveKinematics.reuseRotation(rotation, 1.0);
+
+    assertEquals(1.0, changed.getRadians(), EPSILON);
+  }
+}
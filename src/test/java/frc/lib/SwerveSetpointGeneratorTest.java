@@ -0,0 +1,158 @@
+package frc.lib;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SwerveSetpointGeneratorTest {
+
+  private static final double MAXIMUM_DRIVE_VELOCITY = 4.5;
+
+  private static final double MAXIMUM_DRIVE_ACCELERATION = 18.0;
+
+  /** Maximum steer velocity in rotations per second. */
+  private static final double MAXIMUM_STEER_VELOCITY = 3.0;
+
+  private static final double DT = 0.02;
+
+  private static final double EPSILON = 1e-9;
+
+  /** Module angles are quantized to the rotation table, so speeds are only reached this closely. */
+  private static final double SPEED_TOLERANCE = MAXIMUM_DRIVE_VELOCITY * RotationTable.STEP_RADIANS;
+
+  private static final Translation2d[] MODULE_TRANSLATIONS = {
+    new Translation2d(0.26, 0.26),
+    new Translation2d(0.26, -0.26),
+    new Translation2d(-0.26, -0.26),
+    new Translation2d(-0.26, 0.26)
+  };
+
+  private SwerveSetpointGenerator generator;
+
+  private final SwerveModuleState[] previousSetpoints = new SwerveModuleState[4];
+
+  private final SwerveModuleState[] setpoints = new SwerveModuleState[4];
+
+  @BeforeEach
+  void setup() {
+    generator =
+        new SwerveSetpointGenerator(
+            MAXIMUM_DRIVE_VELOCITY,
+            MAXIMUM_DRIVE_ACCELERATION,
+            MAXIMUM_STEER_VELOCITY,
+            MODULE_TRANSLATIONS);
+
+    for (int i = 0; i < 4; i++) {
+      previousSetpoints[i] = new SwerveModuleState();
+      setpoints[i] = new SwerveModuleState();
+    }
+  }
+
+  /**
+   * Generates setpoints towards desired chassis speeds for a number of loops, checking that every
+   * setpoint respects the steer and drive limits.
+   */
+  private void generate(ChassisSpeeds desiredSpeeds, int loops) {
+    for (int loop = 0; loop < loops; loop++) {
+      generator.generate(previousSetpoints, desiredSpeeds, DT, setpoints);
+
+      for (int i = 0; i < 4; i++) {
+        double angleChange =
+            Math.abs(setpoints[i].angle.minus(previousSetpoints[i].angle).getRadians());
+        double speedChange =
+            Math.abs(setpoints[i].speedMetersPerSecond - previousSetpoints[i].speedMetersPerSecond);
+
+        assertTrue(
+            angleChange <= 2.0 * Math.PI * MAXIMUM_STEER_VELOCITY * DT + EPSILON,
+            "module " + i + " steered " + angleChange + " rad in one loop");
+        assertTrue(
+            speedChange <= MAXIMUM_DRIVE_ACCELERATION * DT + EPSILON,
+            "module " + i + " changed speed " + speedChange + " mps in one loop");
+        assertTrue(Math.abs(setpoints[i].speedMetersPerSecond) <= MAXIMUM_DRIVE_VELOCITY + EPSILON);
+
+        previousSetpoints[i].speedMetersPerSecond = setpoints[i].speedMetersPerSecond;
+        previousSetpoints[i].angle = setpoints[i].angle;
+      }
+    }
+  }
+
+  private ChassisSpeeds getChassisSpeeds() {
+    ChassisSpeeds speeds = new ChassisSpeeds();
+
+    new InPlaceSwerveKinematics(MODULE_TRANSLATIONS).toChassisSpeeds(setpoints, speeds);
+
+    return speeds;
+  }
+
+  @Test
+  void respectsLimitsWhileChangingDirection() {
+    generate(new ChassisSpeeds(3.0, 0.0, 0.0), 50);
+    generate(new ChassisSpeeds(0.0, 3.0, 0.0), 50);
+    generate(new ChassisSpeeds(-3.0, 0.0, 0.0), 50);
+    generate(new ChassisSpeeds(0.0, 0.0, 6.0), 50);
+    generate(new ChassisSpeeds(2.0, -2.0, 3.0), 50);
+    generate(new ChassisSpeeds(-4.5, 4.5, -6.0), 50);
+    generate(new ChassisSpeeds(), 50);
+  }
+
+  @Test
+  void reachesDesiredSpeeds() {
+    ChassisSpeeds desiredSpeeds = new ChassisSpeeds(1.5, -2.0, 1.0);
+
+    generate(desiredSpeeds, 100);
+
+    ChassisSpeeds speeds = getChassisSpeeds();
+
+    assertEquals(desiredSpeeds.vxMetersPerSecond, speeds.vxMetersPerSecond, SPEED_TOLERANCE);
+    assertEquals(desiredSpeeds.vyMetersPerSecond, speeds.vyMetersPerSecond, SPEED_TOLERANCE);
+    assertEquals(
+        desiredSpeeds.omegaRadiansPerSecond, speeds.omegaRadiansPerSecond, SPEED_TOLERANCE);
+  }
+
+  @Test
+  void reachesDesiredSpeedsAfterReversing() {
+    generate(new ChassisSpeeds(3.0, 0.0, 0.0), 50);
+
+    ChassisSpeeds desiredSpeeds = new ChassisSpeeds(-3.0, 0.0, 0.0);
+
+    generate(desiredSpeeds, 50);
+
+    assertEquals(
+        desiredSpeeds.vxMetersPerSecond, getChassisSpeeds().vxMetersPerSecond, SPEED_TOLERANCE);
+  }
+
+  @Test
+  void reusesAnglesInSteadyState() {
+    generate(new ChassisSpeeds(3.0, 0.0, 0.0), 50);
+    generate(new ChassisSpeeds(-2.0, 1.0, 0.5), 100);
+
+    Rotation2d[] angles = new Rotation2d[4];
+
+    for (int i = 0; i < 4; i++) {
+      angles[i] = setpoints[i].angle;
+    }
+
+    generate(new ChassisSpeeds(-2.0, 1.0, 0.5), 1);
+
+    for (int i = 0; i < 4; i++) {
+      assertSame(angles[i], setpoints[i].angle);
+    }
+  }
+
+  @Test
+  void steersToPreallocatedRotations() {
+    generate(new ChassisSpeeds(3.0, 0.0, 0.0), 10);
+    generate(new ChassisSpeeds(0.0, 3.0, 2.0), 10);
+
+    for (int i = 0; i < 4; i++) {
+      assertSame(RotationTable.get(setpoints[i].angle.getRadians()), setpoints[i].angle);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import frc.lib.controller.SwerveModuleIO;
+import frc.robot.swerve.Swerve;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class RobotLoopTest {
+
+  /** Number of loops, long enough for every telemetry channel to be published. */
+  private static final int LOOPS = 100;
+
+  @BeforeAll
+  static void initialize() {
+    assertTrue(HAL.initialize(500, 0));
+  }
+
+  @Test
+  void samplesModulesOncePerLoop() {
+    try (Robot robot = new Robot()) {
+      robot.robotInit();
+
+      SwerveModuleIO[] swerveModules = Swerve.getInstance().getModules();
+      long[] sampleCounts = new long[swerveModules.length];
+
+      for (int loop = 0; loop < LOOPS; loop++) {
+        for (int i = 0; i < swerveModules.length; i++) {
+          sampleCounts[i] = swerveModules[i].getSampleCount();
+        }
+
+        robot.robotPeriodic();
+
+        for (int i = 0; i < swerveModules.length; i++) {
+          assertEquals(
+              sampleCounts[i] + 1,
+              swerveModules[i].getSampleCount(),
+              "module " + i + " in loop " + loop);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package frc.robot.odometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.networktables.StructPublisher;
+import edu.wpi.first.wpilibj.smartdashboard.Field2d;
+import frc.lib.Allocations;
+import frc.lib.Telemetry;
+import frc.robot.swerve.Swerve;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the odometry periodic does not allocate beyond the WPILib calls it makes. The WPILib
+ * pose estimator, field widget, and struct publisher allocate internally, so their allocation is
+ * measured separately and allowed.
+ */
+class OdometryAllocationTest {
+
+  private static final int WARMUPS = 10_000;
+
+  private static final int RUNS = 1_000;
+
+  /** Off the field and facing away from it, so that the simulated camera sees no tags. */
+  private static final Pose2d OFF_FIELD = new Pose2d(-100.0, -100.0, Rotation2d.fromDegrees(180.0));
+
+  @BeforeAll
+  static void initialize() {
+    assertTrue(HAL.initialize(500, 0));
+  }
+
+  /**
+   * Measures the bytes allocated by the WPILib calls that the odometry periodic makes each loop.
+   *
+   * @param swerve the swerve subsystem.
+   * @return the bytes allocated by the WPILib calls.
+   */
+  private static long measureAllowance(Swerve swerve) {
+    SwerveDrivePoseEstimator poseEstimator =
+        new SwerveDrivePoseEstimator(
+            swerve.getKinematics(), new Rotation2d(), swerve.getModulePositions(), OFF_FIELD);
+    Field2d field = new Field2d();
+    StructPublisher<Pose2d> positionPublisher =
+        Telemetry.addStructPublisher("Odometry Allocation Test", "Position", Pose2d.struct);
+
+    return Allocations.measure(
+        () -> {
+          swerve.sample();
+
+          poseEstimator.update(Rotation2d.fromRotations(0.0), swerve.getModulePositions());
+
+          field.setRobotPose(poseEstimator.getEstimatedPosition());
+          positionPublisher.set(poseEstimator.getEstimatedPosition());
+        },
+        WARMUPS,
+        RUNS);
+  }
+
+  @Test
+  void periodicOnlyAllocatesInWPILib() {
+    Swerve swerve = Swerve.getInstance();
+    Odometry odometry = Odometry.getInstance();
+
+    swerve.setChassisSpeeds(new ChassisSpeeds(2.0, 1.0, 0.5));
+    odometry.setPosition(OFF_FIELD);
+
+    long allowance = measureAllowance(swerve);
+
+    // The simulated hardware cannot be sampled at a high frequency, so this updates from the
+    // modules rather than from the odometry thread
+    long bytes =
+        Allocations.measure(
+            () -> {
+              swerve.sample();
+              odometry.periodic();
+            },
+            WARMUPS,
+            RUNS);
+
+    assertTrue(
+        bytes <= allowance,
+        "periodic allocated " + bytes + " bytes, WPILib allocated " + allowance + " bytes");
+  }
+
+  @Test
+  void getVelocityDoesNotAllocate() {
+    Swerve swerve = Swerve.getInstance();
+    Odometry odometry = Odometry.getInstance();
+
+    swerve.setChassisSpeeds(new ChassisSpeeds(2.0, 1.0, 0.5));
+
+    long bytes = Allocations.measure(odometry::getVelocity, WARMUPS, RUNS);
+
+    assertEquals(0, bytes);
+  }
+}
@@ -0,0 +1,113 @@
+package frc.robot.odometry;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import frc.robot.odometry.OdometrySampleBuffer.OdometrySample;
+import org.junit.jupiter.api.Test;
+
+class OdometrySampleBufferTest {
+
+  private static final int MODULES = 4;
+
+  private final OdometrySample sample = new OdometrySample(MODULES);
+
+  /** Writes a sample whose values are all derived from its index. */
+  private static void write(OdometrySampleBuffer buffer, int index) {
+    double[] driveRotations = new double[MODULES];
+    double[] steerRotations = new double[MODULES];
+
+    for (int i = 0; i < MODULES; i++) {
+      driveRotations[i] = index + i;
+      steerRotations[i] = -index - i;
+    }
+
+    buffer.write(index, 0.5 * index, driveRotations, steerRotations);
+  }
+
+  /** Reads a sample and checks that it was written with an index. */
+  private void assertReads(OdometrySampleBuffer buffer, int index) {
+    assertTrue(buffer.read(sample));
+
+    assertEquals(index, sample.timestampSeconds);
+    assertEquals(0.5 * index, sample.yawRotations);
+
+    for (int i = 0; i < MODULES; i++) {
+      assertEquals(index + i, sample.driveRotations[i]);
+      assertEquals(-index - i, sample.steerRotations[i]);
+    }
+  }
+
+  @Test
+  void emptyBufferHasNoSample() {
+    OdometrySampleBuffer buffer = new OdometrySampleBuffer(4, MODULES);
+
+    assertFalse(buffer.read(sample));
+  }
+
+  @Test
+  void readsSamplesInOrder() {
+    OdometrySampleBuffer buffer = new OdometrySampleBuffer(4, MODULES);
+
+    for (int i = 0; i < 3; i++) {
+      write(buffer, i);
+    }
+
+    for (int i = 0; i < 3; i++) {
+      assertReads(buffer, i);
+    }
+
+    assertFalse(buffer.read(sample));
+  }
+
+  @Test
+  void holdsAtLeastTheRequestedCapacity() {
+    OdometrySampleBuffer buffer = new OdometrySampleBuffer(5, MODULES);
+
+    for (int i = 0; i < 5; i++) {
+      write(buffer, i);
+    }
+
+    for (int i = 0; i < 5; i++) {
+      assertReads(buffer, i);
+    }
+  }
+
+  @Test
+  void skipsOverwrittenSamples() {
+    OdometrySampleBuffer buffer = new OdometrySampleBuffer(4, MODULES);
+
+    for (int i = 0; i < 20; i++) {
+      write(buffer, i);
+    }
+
+    // Reads the newest samples in order, holding at least the requested capacity
+    assertTrue(buffer.read(sample));
+
+    int first = (int) sample.timestampSeconds;
+
+    assertTrue(first <= 16);
+
+    for (int i = first + 1; i < 20; i++) {
+      assertReads(buffer, i);
+    }
+
+    assertFalse(buffer.read(sample));
+  }
+
+  @Test
+  void continuesAfterReadingEverything() {
+    OdometrySampleBuffer buffer = new OdometrySampleBuffer(4, MODULES);
+
+    write(buffer, 0);
+    assertReads(buffer, 0);
+
+    write(buffer, 1);
+    assertReads(buffer, 1);
+
+    assertFalse(buffer.read(sample));
+    assertArrayEquals(new double[] {1.0, 2.0, 3.0, 4.0}, sample.driveRotations);
+  }
+}
@@ -0,0 +1,116 @@
+package frc.robot.odometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import frc.robot.odometry.PoseHistory.PoseSample;
+import org.junit.jupiter.api.Test;
+
+class PoseHistoryTest {
+
+  private static final double EPSILON = 1e-9;
+
+  private final PoseSample sample = new PoseSample();
+
+  private static void assertSampleEquals(
+      double xMeters, double yMeters, double rotationRadians, PoseSample sample) {
+    assertEquals(xMeters, sample.xMeters, EPSILON);
+    assertEquals(yMeters, sample.yMeters, EPSILON);
+    assertEquals(rotationRadians, sample.rotationRadians, EPSILON);
+  }
+
+  @Test
+  void emptyHistoryHasNoSample() {
+    PoseHistory history = new PoseHistory(4);
+
+    assertFalse(history.getSampleAt(1.0, sample));
+  }
+
+  @Test
+  void exactTimestampsReturnHeldPositions() {
+    PoseHistory history = new PoseHistory(4);
+
+    history.add(1.0, 1.0, 2.0, 0.5);
+    history.add(2.0, 3.0, 4.0, 1.0);
+
+    assertTrue(history.getSampleAt(1.0, sample));
+    assertSampleEquals(1.0, 2.0, 0.5, sample);
+
+    assertTrue(history.getSampleAt(2.0, sample));
+    assertSampleEquals(3.0, 4.0, 1.0, sample);
+  }
+
+  @Test
+  void interpolatesBetweenPositions() {
+    PoseHistory history = new PoseHistory(4);
+
+    history.add(1.0, 0.0, 0.0, 0.0);
+    history.add(2.0, 2.0, -4.0, 1.0);
+
+    assertTrue(history.getSampleAt(1.25, sample));
+    assertSampleEquals(0.5, -1.0, 0.25, sample);
+  }
+
+  @Test
+  void interpolatesRotationsAcrossTheWrap() {
+    PoseHistory history = new PoseHistory(4);
+
+    history.add(1.0, 0.0, 0.0, Math.PI - 0.1);
+    history.add(2.0, 0.0, 0.0, -Math.PI + 0.1);
+
+    assertTrue(history.getSampleAt(1.5, sample));
+    assertEquals(Math.PI, Math.abs(sample.rotationRadians), EPSILON);
+  }
+
+  @Test
+  void clampsTimestampsOutsideTheHistory() {
+    PoseHistory history = new PoseHistory(4);
+
+    history.add(1.0, 1.0, 1.0, 0.0);
+    history.add(2.0, 2.0, 2.0, 0.0);
+
+    assertTrue(history.getSampleAt(0.0, sample));
+    assertSampleEquals(1.0, 1.0, 0.0, sample);
+
+    assertTrue(history.getSampleAt(3.0, sample));
+    assertSampleEquals(2.0, 2.0, 0.0, sample);
+  }
+
+  @Test
+  void replacesOldestPositionsWhenFull() {
+    PoseHistory history = new PoseHistory(4);
+
+    for (int i = 0; i < 6; i++) {
+      history.add(i, i, 0.0, 0.0);
+    }
+
+    // The two oldest positions were replaced, so earlier timestamps clamp to the third
+    assertTrue(history.getSampleAt(0.0, sample));
+    assertSampleEquals(2.0, 0.0, 0.0, sample);
+
+    assertTrue(history.getSampleAt(4.5, sample));
+    assertSampleEquals(4.5, 0.0, 0.0, sample);
+  }
+
+  @Test
+  void ignoresPositionsOlderThanTheNewest() {
+    PoseHistory history = new PoseHistory(4);
+
+    history.add(2.0, 2.0, 0.0, 0.0);
+    history.add(1.0, 1.0, 0.0, 0.0);
+
+    assertTrue(history.getSampleAt(1.0, sample));
+    assertSampleEquals(2.0, 0.0, 0.0, sample);
+  }
+
+  @Test
+  void clearRemovesAllPositions() {
+    PoseHistory history = new PoseHistory(4);
+
+    history.add(1.0, 1.0, 0.0, 0.0);
+    history.clear();
+
+    assertFalse(history.getSampleAt(1.0, sample));
+  }
+}
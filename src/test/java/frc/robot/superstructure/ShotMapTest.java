@@ -0,0 +1,103 @@
+package frc.robot.superstructure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.wpi.first.math.util.Units;
+import frc.robot.superstructure.ShotMap.Shot;
+import org.junit.jupiter.api.Test;
+
+class ShotMapTest {
+
+  private static final double EPSILON = 1e-9;
+
+  private final ShotMap shotMap =
+      new ShotMap(
+          new double[][] {
+            {1.0, -20.0, 50.0, 0.1},
+            {2.0, -10.0, 60.0, 0.2},
+            {4.0, 10.0, 80.0, 0.4}
+          });
+
+  private final Shot shot = new Shot();
+
+  private static void assertShotEquals(
+      double shoulderDegrees, double flywheelRotationsPerSecond, double timeOfFlight, Shot shot) {
+    assertEquals(Units.degreesToRotations(shoulderDegrees), shot.shoulderRotations, EPSILON);
+    assertEquals(flywheelRotationsPerSecond, shot.flywheelVelocityRotationsPerSecond, EPSILON);
+    assertEquals(timeOfFlight, shot.timeOfFlightSeconds, EPSILON);
+  }
+
+  @Test
+  void exactDistancesReturnTheirShots() {
+    shotMap.getShot(1.0, shot);
+    assertShotEquals(-20.0, 50.0, 0.1, shot);
+
+    shotMap.getShot(2.0, shot);
+    assertShotEquals(-10.0, 60.0, 0.2, shot);
+
+    shotMap.getShot(4.0, shot);
+    assertShotEquals(10.0, 80.0, 0.4, shot);
+  }
+
+  @Test
+  void interpolatesBetweenDistances() {
+    shotMap.getShot(1.5, shot);
+    assertShotEquals(-15.0, 55.0, 0.15, shot);
+
+    shotMap.getShot(3.5, shot);
+    assertShotEquals(5.0, 75.0, 0.35, shot);
+  }
+
+  @Test
+  void clampsBelowTheNearestDistance() {
+    shotMap.getShot(0.0, shot);
+    assertShotEquals(-20.0, 50.0, 0.1, shot);
+  }
+
+  @Test
+  void clampsAboveTheFarthestDistance() {
+    shotMap.getShot(10.0, shot);
+    assertShotEquals(10.0, 80.0, 0.4, shot);
+  }
+
+  @Test
+  void singleShotIsUsedForEveryDistance() {
+    ShotMap single = new ShotMap(new double[][] {{1.3, -26.0, 50.0, 0.11}});
+
+    single.getShot(0.5, shot);
+    assertShotEquals(-26.0, 50.0, 0.11, shot);
+
+    single.getShot(5.0, shot);
+    assertShotEquals(-26.0, 50.0, 0.11, shot);
+  }
+
+  @Test
+  void rejectsUnsortedDistances() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new ShotMap(
+                new double[][] {
+                  {2.0, -10.0, 60.0, 0.2},
+                  {1.0, -20.0, 50.0, 0.1}
+                }));
+  }
+
+  @Test
+  void rejectsRepeatedDistances() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new ShotMap(
+                new double[][] {
+                  {1.0, -20.0, 50.0, 0.1},
+                  {1.0, -10.0, 60.0, 0.2}
+                }));
+  }
+
+  @Test
+  void rejectsEmptyMaps() {
+    assertThrows(IllegalArgumentException.class, () -> new ShotMap(new double[0][]));
+  }
+}
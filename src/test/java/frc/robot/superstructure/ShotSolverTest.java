@@ -0,0 +1,92 @@
+package frc.robot.superstructure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.geometry.Twist2d;
+import org.junit.jupiter.api.Test;
+
+class ShotSolverTest {
+
+  private static final double EPSILON = 1e-9;
+
+  /** Tolerance of a converged time of flight, in seconds. */
+  private static final double CONVERGED_EPSILON = 1e-3;
+
+  /** Time of flight per meter of distance, in seconds per meter. */
+  private static final double SECONDS_PER_METER = 0.1;
+
+  private static final Translation2d ROBOT = new Translation2d(0.0, 0.0);
+
+  private static final Translation2d TARGET = new Translation2d(5.0, 0.0);
+
+  /** Times of flight are proportional to distance between 1 and 10 meters. */
+  private final ShotMap shotMap =
+      new ShotMap(
+          new double[][] {
+            {1.0, 0.0, 50.0, 1.0 * SECONDS_PER_METER},
+            {10.0, 0.0, 50.0, 10.0 * SECONDS_PER_METER}
+          });
+
+  private final ShotSolver solver = new ShotSolver(shotMap, new Rotation2d());
+
+  @Test
+  void stationaryRobotAimsAtTheTarget() {
+    solver.solve(ROBOT, new Twist2d(), TARGET);
+
+    assertEquals(TARGET.getX(), solver.getVirtualTarget().getX(), EPSILON);
+    assertEquals(TARGET.getY(), solver.getVirtualTarget().getY(), EPSILON);
+    assertEquals(5.0 * SECONDS_PER_METER, solver.getShot().timeOfFlightSeconds, EPSILON);
+    assertEquals(0.0, solver.getHeading().getDegrees(), EPSILON);
+  }
+
+  @Test
+  void movingRobotConvergesWithinTheMaximumIterations() {
+    solver.solve(ROBOT, new Twist2d(1.0, 2.0, 0.0), TARGET);
+
+    assertTrue(solver.getIterations() < ShotSolver.MAXIMUM_ITERATIONS);
+
+    // The converged time of flight is the time of flight to the virtual target
+    Translation2d virtualTarget = solver.getVirtualTarget();
+    double distance = Math.hypot(virtualTarget.getX(), virtualTarget.getY());
+
+    assertEquals(
+        distance * SECONDS_PER_METER, solver.getShot().timeOfFlightSeconds, CONVERGED_EPSILON);
+  }
+
+  @Test
+  void virtualTargetIsOffsetOppositeToTheRobotVelocity() {
+    solver.solve(ROBOT, new Twist2d(1.0, 2.0, 0.0), TARGET);
+
+    double timeOfFlight = solver.getShot().timeOfFlightSeconds;
+    Translation2d virtualTarget = solver.getVirtualTarget();
+
+    assertTrue(timeOfFlight > 0.0);
+    assertEquals(TARGET.getX() - 1.0 * timeOfFlight, virtualTarget.getX(), EPSILON);
+    assertEquals(TARGET.getY() - 2.0 * timeOfFlight, virtualTarget.getY(), EPSILON);
+
+    // Moving left of the target aims right of it
+    assertTrue(solver.getHeading().getDegrees() < 0.0);
+  }
+
+  @Test
+  void previousSolutionSeedsTheNextSolve() {
+    Twist2d velocity = new Twist2d(1.0, 2.0, 0.0);
+
+    solver.solve(ROBOT, velocity, TARGET);
+    solver.solve(ROBOT, velocity, TARGET);
+
+    assertEquals(1, solver.getIterations());
+  }
+
+  @Test
+  void headingPointsTheShooterAtTheTarget() {
+    ShotSolver backwardsSolver = new ShotSolver(shotMap, Rotation2d.fromDegrees(180.0));
+
+    backwardsSolver.solve(ROBOT, new Twist2d(), TARGET);
+
+    assertEquals(180.0, Math.abs(backwardsSolver.getHeading().getDegrees()), EPSILON);
+  }
+}
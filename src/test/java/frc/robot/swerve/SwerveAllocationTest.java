@@ -0,0 +1,89 @@
+package frc.robot.swerve;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import frc.lib.Allocations;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SwerveAllocationTest {
+
+  private static final int WARMUPS = 10_000;
+
+  private static final int RUNS = 1_000;
+
+  /** Number of loops between changes of direction. */
+  private static final int LOOPS_PER_DIRECTION = 25;
+
+  private int loop = 0;
+
+  @BeforeAll
+  static void initialize() {
+    assertTrue(HAL.initialize(500, 0));
+  }
+
+  @Test
+  void setChassisSpeedsDoesNotAllocate() {
+    Swerve swerve = Swerve.getInstance();
+    ChassisSpeeds speeds = new ChassisSpeeds(2.0, 1.0, 0.5);
+
+    long bytes =
+        Allocations.measure(
+            () -> {
+              swerve.sample();
+              swerve.setChassisSpeeds(speeds);
+            },
+            WARMUPS,
+            RUNS);
+
+    assertEquals(0, bytes);
+  }
+
+  @Test
+  void readingModulesDoesNotAllocate() {
+    Swerve swerve = Swerve.getInstance();
+    ChassisSpeeds speeds = new ChassisSpeeds(-1.0, 2.0, -0.5);
+
+    long bytes =
+        Allocations.measure(
+            () -> {
+              swerve.sample();
+              swerve.setChassisSpeeds(speeds);
+              swerve.getModuleStates();
+              swerve.getModuleSetpoints();
+              swerve.getModulePositions();
+              swerve.getChassisSpeeds();
+            },
+            WARMUPS,
+            RUNS);
+
+    assertEquals(0, bytes);
+  }
+
+  @Test
+  void changingDirectionDoesNotAllocate() {
+    Swerve swerve = Swerve.getInstance();
+    ChassisSpeeds[] directions = {
+      new ChassisSpeeds(3.0, 0.0, 0.0),
+      new ChassisSpeeds(0.0, 3.0, 2.0),
+      new ChassisSpeeds(-3.0, 0.0, 0.0),
+      new ChassisSpeeds(2.0, -2.0, -3.0)
+    };
+
+    // Measured angles are read from the motors rather than the rotation table, so only the
+    // setpoints are checked while the modules steer
+    long bytes =
+        Allocations.measure(
+            () -> {
+              swerve.setChassisSpeeds(directions[loop / LOOPS_PER_DIRECTION % directions.length]);
+              loop++;
+            },
+            WARMUPS,
+            RUNS);
+
+    assertEquals(0, bytes);
+  }
+}